@@ -0,0 +1,97 @@
+package com.residencia.comercio.services;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.residencia.comercio.dtos.CnpjDTO;
+import com.residencia.comercio.dtos.FornecedorDTO;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.utils.CnpjCodec;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FornecedorServiceBenchmark {
+
+	private FornecedorService fornecedorService;
+	private Fornecedor fornecedor;
+	private FornecedorDTO fornecedorDTO;
+	private CnpjDTO cnpjDTO;
+	private String cnpjFormatado = "11.222.333/0001-81";
+
+	@Setup
+	public void iniciar() {
+		fornecedorService = new FornecedorService();
+
+		fornecedor = new Fornecedor();
+		fornecedor.setIdFornecedor(1);
+		fornecedor.setCnpj("11.222.333/0001-81");
+		fornecedor.setTipo("MATRIZ");
+		fornecedor.setRazaoSocial("EMPRESA TESTE LTDA");
+		fornecedor.setNomeFantasia("EMPRESA TESTE");
+		fornecedor.setEmail("contato@empresa.com.br");
+		fornecedor.setTelefone("(24) 2222-3333");
+		fornecedor.setStatusSituacao("ATIVA");
+		fornecedor.setLogradouro("RUA DO IMPERADOR");
+		fornecedor.setNumero(100);
+		fornecedor.setBairro("CENTRO");
+		fornecedor.setCep("25600-000");
+		fornecedor.setMunicipio("PETROPOLIS");
+		fornecedor.setUf("RJ");
+		fornecedor.setDataAbertura(new Date(946684800000L));
+
+		fornecedorDTO = fornecedorService.fornecedorToDTO(fornecedor);
+
+		cnpjDTO = new CnpjDTO();
+		cnpjDTO.setCnpj("11.222.333/0001-81");
+		cnpjDTO.setNome("EMPRESA TESTE LTDA");
+		cnpjDTO.setFantasia("EMPRESA TESTE");
+		cnpjDTO.setAbertura("01/01/2000");
+		cnpjDTO.setSituacao("ATIVA");
+		cnpjDTO.setTipo("MATRIZ");
+		cnpjDTO.setLogradouro("RUA DO IMPERADOR");
+		cnpjDTO.setNumero(100);
+		cnpjDTO.setCep("25600-000");
+		cnpjDTO.setMunicipio("PETROPOLIS");
+		cnpjDTO.setUf("RJ");
+	}
+
+	@Benchmark
+	public FornecedorDTO fornecedorToDTO() {
+		return fornecedorService.fornecedorToDTO(fornecedor);
+	}
+
+	@Benchmark
+	public Fornecedor fornecedorDTOtoEntity() {
+		return fornecedorService.fornecedorDTOtoEntity(fornecedorDTO);
+	}
+
+	@Benchmark
+	public Fornecedor cnpjDTOtoFornecedor() {
+		return fornecedorService.CnpjDTOtoFornecedor(cnpjDTO);
+	}
+
+	@Benchmark
+	public boolean cnpjValidFormatted() {
+		return fornecedorService.CNPJValidFormatted(cnpjFormatado);
+	}
+
+	@Benchmark
+	public long cnpjCodecParse() {
+		return CnpjCodec.parse(cnpjFormatado);
+	}
+}
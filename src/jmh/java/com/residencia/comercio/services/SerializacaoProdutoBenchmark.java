@@ -0,0 +1,82 @@
+package com.residencia.comercio.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residencia.comercio.dtos.ProdutoDTO;
+import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.entities.Produto;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoProdutoBenchmark {
+
+	@Param({ "1", "100" })
+	private int quantidade;
+
+	private ObjectMapper objectMapper;
+	private List<Produto> produtos;
+	private List<ProdutoDTO> produtosDTO;
+
+	@Setup
+	public void iniciar() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		produtos = new ArrayList<>(quantidade);
+		produtosDTO = new ArrayList<>(quantidade);
+
+		for (int i = 0; i < quantidade; i++) {
+			Fornecedor fornecedor = new Fornecedor();
+			fornecedor.setIdFornecedor(i % 5);
+			fornecedor.setCnpj("11.222.333/0001-81");
+			fornecedor.setNomeFantasia("Fornecedor " + i % 5);
+			fornecedor.setRazaoSocial("Fornecedor " + i % 5 + " LTDA");
+
+			Categoria categoria = new Categoria();
+			categoria.setIdCategoria(i % 3);
+			categoria.setNomeCategoria("Categoria " + i % 3);
+
+			Produto produto = new Produto();
+			produto.setIdProduto(i);
+			produto.setSku("SKU-" + i);
+			produto.setNomeProduto("Produto " + i);
+			produto.setFornecedor(fornecedor);
+			produto.setCategoria(categoria);
+			produtos.add(produto);
+
+			produtosDTO.add(new ProdutoDTO(i, produto.getSku(), produto.getNomeProduto(),
+					fornecedor.getIdFornecedor(), fornecedor.getNomeFantasia(), categoria.getIdCategoria(),
+					categoria.getNomeCategoria()));
+		}
+	}
+
+	@Benchmark
+	public byte[] serializarProduto() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(produtos);
+	}
+
+	@Benchmark
+	public byte[] serializarProdutoDTO() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(produtosDTO);
+	}
+}
@@ -1,9 +1,17 @@
 package com.residencia.comercio;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
+@EnableJpaAuditing(dateTimeProviderRef = "auditoriaDataHora")
 public class ComercioApplication {
 
 	public static void main(String[] args) {
@@ -12,4 +20,9 @@ public class ComercioApplication {
 		System.out.println("\nAPI subiu com sucesso!");
 	}
 
+	@Bean
+	public DateTimeProvider auditoriaDataHora() {
+		return () -> Optional.of(Instant.now().truncatedTo(ChronoUnit.MICROS));
+	}
+
 }
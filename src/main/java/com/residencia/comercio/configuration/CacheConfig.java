@@ -0,0 +1,62 @@
+package com.residencia.comercio.configuration;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.utils.CacheCopia;
+import com.residencia.comercio.utils.RegioesCacheLocal;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String CATEGORIAS = "categorias";
+	public static final String FORNECEDORES = "fornecedores";
+
+	@Bean
+	public CacheManager cacheManager(
+			@Value("${cache.referencia.tamanho-maximo:1000}") int tamanhoMaximo,
+			@Value("${cache.referencia.ttl:10m}") Duration ttl) {
+		Map<String, UnaryOperator<Object>> copias = Map.of(
+				CATEGORIAS, valor -> new Categoria((Categoria) valor),
+				FORNECEDORES, valor -> new Fornecedor((Fornecedor) valor));
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+			@Override
+			protected Cache adaptCaffeineCache(String nome, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+				return new CacheCopia((CaffeineCache) super.adaptCaffeineCache(nome, cache), copias.get(nome));
+			}
+		};
+		cacheManager.setAllowNullValues(false);
+		cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(ttl).recordStats());
+		cacheManager.setCacheNames(copias.keySet());
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer cacheSegundoNivel(Environment environment,
+			@Value("${cache.hibernate.habilitado:true}") boolean habilitado) {
+		return propriedades -> {
+			if (habilitado) {
+				propriedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+				propriedades.put(AvailableSettings.USE_QUERY_CACHE, true);
+				propriedades.put(AvailableSettings.CACHE_REGION_FACTORY, new RegioesCacheLocal(environment));
+			}
+		};
+	}
+}
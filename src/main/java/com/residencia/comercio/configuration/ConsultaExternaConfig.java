@@ -0,0 +1,57 @@
+package com.residencia.comercio.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class ConsultaExternaConfig {
+
+	@Bean
+	public CloseableHttpClient consultaExternaHttpClient(
+			@Value("${consulta-externa.http.conexoes-maximas:50}") int conexoesMaximas,
+			@Value("${consulta-externa.http.conexoes-por-host:10}") int conexoesPorHost,
+			@Value("${consulta-externa.http.timeout-conexao:2000}") int timeoutConexao,
+			@Value("${consulta-externa.http.timeout-leitura:5000}") int timeoutLeitura,
+			@Value("${consulta-externa.http.timeout-pool:1000}") int timeoutPool,
+			@Value("${consulta-externa.http.keep-alive:30000}") long keepAlive) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(conexoesMaximas);
+		connectionManager.setDefaultMaxPerRoute(conexoesPorHost);
+		connectionManager.setValidateAfterInactivity(2000);
+
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(timeoutConexao)
+				.setSocketTimeout(timeoutLeitura)
+				.setConnectionRequestTimeout(timeoutPool)
+				.build();
+
+		ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+			long duracao = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return duracao > 0 ? Math.min(duracao, keepAlive) : keepAlive;
+		};
+
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(keepAliveStrategy)
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+	@Bean
+	public RestTemplate consultaExternaRestTemplate(CloseableHttpClient consultaExternaHttpClient) {
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(consultaExternaHttpClient));
+	}
+}
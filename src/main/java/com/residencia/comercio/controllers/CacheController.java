@@ -0,0 +1,70 @@
+package com.residencia.comercio.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.residencia.comercio.dtos.CacheEstatisticasDTO;
+import com.residencia.comercio.services.CnpjCacheService;
+import com.residencia.comercio.services.FornecedorService;
+import com.residencia.comercio.services.ProdutoService;
+import com.residencia.comercio.utils.CacheCopia;
+import com.residencia.comercio.utils.RegioesCacheLocal;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/cache")
+@Tag(name = "Cache", description = "Endpoints")
+public class CacheController {
+	@Autowired
+	CnpjCacheService cnpjCacheService;
+
+	@Autowired
+	FornecedorService fornecedorService;
+
+	@Autowired
+	ProdutoService produtoService;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@GetMapping
+	@Operation(summary = "Listar as estatísticas de acertos e falhas dos caches.")
+	public ResponseEntity<List<CacheEstatisticasDTO>> findAllEstatisticas() {
+		List<CacheEstatisticasDTO> estatisticas = new ArrayList<>();
+		estatisticas.addAll(cnpjCacheService.estatisticas());
+		estatisticas.add(fornecedorService.estatisticasCep());
+		estatisticas.add(fornecedorService.estatisticasCnpjId());
+		estatisticas.add(produtoService.estatisticasSku());
+		for (String nome : cacheManager.getCacheNames()) {
+			Cache cache = cacheManager.getCache(nome);
+			if (cache instanceof CacheCopia) {
+				estatisticas.add(((CacheCopia) cache).estatisticas());
+			}
+		}
+		RegionFactory regioes = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache()
+				.getRegionFactory();
+		if (regioes instanceof RegioesCacheLocal) {
+			estatisticas.addAll(((RegioesCacheLocal) regioes).estatisticas());
+		}
+		return new ResponseEntity<>(estatisticas, HttpStatus.OK);
+	}
+
+}
@@ -7,6 +7,7 @@ import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,9 +15,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.residencia.comercio.dtos.AlteracoesDTO;
 import com.residencia.comercio.dtos.CategoriaDTO;
+import com.residencia.comercio.dtos.PaginaDTO;
+import com.residencia.comercio.dtos.ResultadoLoteDTO;
 import com.residencia.comercio.entities.Categoria;
 import com.residencia.comercio.exceptions.NoSuchElementFoundException;
 import com.residencia.comercio.services.CategoriaService;
@@ -25,6 +30,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
+@Validated
 @RequestMapping("/categoria")
 @Tag(name = "Categorias", description = "Endpoints")
 public class CategoriaController {
@@ -32,13 +38,15 @@ public class CategoriaController {
 	CategoriaService categoriaService;
 
 	@GetMapping
-	@Operation(summary = "Listar todos os Categorias.")
-	public ResponseEntity<List<Categoria>> findAllCategoria() {
-		if (categoriaService.findAllCategoria().isEmpty() == true) {
+	@Operation(summary = "Listar todos os Categorias com paginação por cursor.")
+	public ResponseEntity<PaginaDTO<Categoria>> findAllCategoria(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer tamanho) {
+		PaginaDTO<Categoria> pagina = categoriaService.findPageCategoria(cursor, tamanho);
+		if (cursor == null && pagina.getConteudo().isEmpty()) {
 			throw new NoSuchElementFoundException("Não há Categorias cadastradas no sistema");
 		}
 		else {
-			return new ResponseEntity<>(categoriaService.findAllCategoria(), HttpStatus.OK);
+			return new ResponseEntity<>(pagina, HttpStatus.OK);
 		}
 	}
 
@@ -48,13 +56,27 @@ public class CategoriaController {
 		return new ResponseEntity<>(categoriaService.findCategoriaDTOById(id), HttpStatus.OK);
 	}
 
+	@GetMapping("/changes")
+	@Operation(summary = "Listar os Categorias alterados desde a marca informada e os IDs removidos, com paginação por cursor.")
+	public ResponseEntity<AlteracoesDTO<Categoria>> findAlteracoesCategoria(@RequestParam(required = false) String since,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+		return new ResponseEntity<>(categoriaService.findAlteracoesCategoria(since, cursor, tamanho), HttpStatus.OK);
+	}
+
+	@GetMapping(params = "ids")
+	@Operation(summary = "Listar várias Categorias pelos IDs informados, na ordem pedida, indicando os não encontrados.")
+	public ResponseEntity<ResultadoLoteDTO<Categoria>> findAllCategoriaById(@RequestParam List<Integer> ids) {
+		return new ResponseEntity<>(categoriaService.findAllCategoriaById(ids), HttpStatus.OK);
+	}
+
 	@GetMapping("/{id}")
 	@Operation(summary = "Listar uma Categoria pelo ID.")
 	public ResponseEntity<Categoria> findCategoriaById(@PathVariable Integer id) {
-		if (categoriaService.findCategoriaById(id) == null) {
+		Categoria categoria = categoriaService.findCategoriaById(id);
+		if (categoria == null) {
 			throw new NoSuchElementFoundException("Não foi encontrado umaa Categoria com o id " + id);
 		} else {
-			return new ResponseEntity<>(categoriaService.findCategoriaById(id), HttpStatus.OK);
+			return new ResponseEntity<>(categoria, HttpStatus.OK);
 		}
 	}
 
@@ -64,6 +86,12 @@ public class CategoriaController {
 		return new ResponseEntity<>(categoriaService.saveCategoria(categoria), HttpStatus.CREATED);
 	}
 
+	@PostMapping("/batch")
+	@Operation(summary = "Postar uma lista de Categorias em lote.")
+	public ResponseEntity<List<Categoria>> saveCategoriaBatch(@RequestBody List<@Valid Categoria> categorias) {
+		return new ResponseEntity<>(categoriaService.saveAllCategoria(categorias), HttpStatus.CREATED);
+	}
+
 	@PostMapping("/dto")
 	@Operation(summary = "Postar uma Categoria através de DTO.")
 	public ResponseEntity<CategoriaDTO> saveCategoriaDTO(@Valid @RequestBody CategoriaDTO categoriaDTO) {
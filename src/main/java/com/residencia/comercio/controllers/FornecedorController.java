@@ -7,6 +7,7 @@ import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,30 +18,83 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.residencia.comercio.dtos.AlteracoesDTO;
+import com.residencia.comercio.dtos.CnpjValidacaoDTO;
 import com.residencia.comercio.dtos.FornecedorDTO;
+import com.residencia.comercio.dtos.LoteStatusDTO;
+import com.residencia.comercio.dtos.PaginaDTO;
+import com.residencia.comercio.dtos.ResultadoLoteDTO;
+import com.residencia.comercio.dtos.SugestaoDTO;
 import com.residencia.comercio.entities.Fornecedor;
 import com.residencia.comercio.exceptions.CNPJException;
 import com.residencia.comercio.exceptions.NoSuchElementFoundException;
 import com.residencia.comercio.exceptions.NotNullException;
+import com.residencia.comercio.services.FornecedorBuscaService;
+import com.residencia.comercio.services.FornecedorLoteService;
 import com.residencia.comercio.services.FornecedorService;
+import com.residencia.comercio.utils.CnpjCodec;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
+@Validated
 @RequestMapping("/fornecedor")
 @Tag(name = "Fornecedores", description = "Endpoints")
 public class FornecedorController {
 	@Autowired
 	FornecedorService fornecedorService;
+
+	@Autowired
+	FornecedorLoteService fornecedorLoteService;
+
+	@Autowired
+	FornecedorBuscaService fornecedorBuscaService;
 	
 	@GetMapping
-	@Operation(summary = "Listar todos os Fornecedores.")
-	public ResponseEntity<List<Fornecedor>> findAllFornecedor() {
-		if (fornecedorService.findAllFornecedor().isEmpty() == true) {
+	@Operation(summary = "Listar todos os Fornecedores com paginação por cursor.")
+	public ResponseEntity<PaginaDTO<Fornecedor>> findAllFornecedor(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer tamanho) {
+		PaginaDTO<Fornecedor> pagina = fornecedorService.findPageFornecedor(cursor, tamanho);
+		if (cursor == null && pagina.getConteudo().isEmpty()) {
+			throw new NoSuchElementFoundException("Não há Fornecedores cadastrados no sistema");
+		} else {
+			return new ResponseEntity<>(pagina, HttpStatus.OK);
+		}
+	}
+
+	@GetMapping("/cnpj/{cnpj}")
+	@Operation(summary = "Listar um Fornecedor pelo CNPJ (14 dígitos, sem máscara).")
+	public ResponseEntity<Fornecedor> findFornecedorByCnpj(@PathVariable String cnpj) {
+		Fornecedor fornecedor = fornecedorService.findFornecedorByCnpj(cnpj);
+		if (fornecedor == null) {
+			throw new NoSuchElementFoundException("Não foi encontrado Fornecedor com o CNPJ " + cnpj);
+		}
+		return new ResponseEntity<>(fornecedor, HttpStatus.OK);
+	}
+
+	@GetMapping("/cnpj")
+	@Operation(summary = "Listar vários Fornecedores pelos CNPJs informados, em uma única consulta.")
+	public ResponseEntity<List<Fornecedor>> findAllFornecedorByCnpj(@RequestParam List<String> cnpjs) {
+		return new ResponseEntity<>(fornecedorService.findAllFornecedorByCnpj(cnpjs), HttpStatus.OK);
+	}
+
+	@GetMapping("/suggest")
+	@Operation(summary = "Sugerir Fornecedores cujo nome fantasia (ou alguma palavra dele) começa com o prefixo informado.")
+	public ResponseEntity<List<SugestaoDTO>> suggestFornecedor(@RequestParam String prefix,
+			@RequestParam(required = false) Integer tamanho) {
+		return new ResponseEntity<>(fornecedorBuscaService.sugerir(prefix, tamanho), HttpStatus.OK);
+	}
+
+	@GetMapping("/dto")
+	@Operation(summary = "Listar todos os Fornecedores através de DTO com paginação por cursor.")
+	public ResponseEntity<PaginaDTO<FornecedorDTO>> findAllFornecedorDTO(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer tamanho) {
+		PaginaDTO<FornecedorDTO> pagina = fornecedorService.findPageFornecedorDTO(cursor, tamanho);
+		if (cursor == null && pagina.getConteudo().isEmpty()) {
 			throw new NoSuchElementFoundException("Não há Fornecedores cadastrados no sistema");
 		} else {
-			return new ResponseEntity<>(fornecedorService.findAllFornecedor(), HttpStatus.OK);
+			return new ResponseEntity<>(pagina, HttpStatus.OK);
 		}
 	}
 
@@ -50,13 +104,27 @@ public class FornecedorController {
 		return new ResponseEntity<>(fornecedorService.findFornecedorDTOById(id), HttpStatus.OK);
 	}
 
+	@GetMapping("/changes")
+	@Operation(summary = "Listar os Fornecedores alterados desde a marca informada e os IDs removidos, com paginação por cursor.")
+	public ResponseEntity<AlteracoesDTO<Fornecedor>> findAlteracoesFornecedor(@RequestParam(required = false) String since,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+		return new ResponseEntity<>(fornecedorService.findAlteracoesFornecedor(since, cursor, tamanho), HttpStatus.OK);
+	}
+
+	@GetMapping(params = "ids")
+	@Operation(summary = "Listar vários Fornecedores pelos IDs informados, na ordem pedida, indicando os não encontrados.")
+	public ResponseEntity<ResultadoLoteDTO<Fornecedor>> findAllFornecedorById(@RequestParam List<Integer> ids) {
+		return new ResponseEntity<>(fornecedorService.findAllFornecedorById(ids), HttpStatus.OK);
+	}
+
 	@GetMapping("/{id}")
 	@Operation(summary = "Listar um Fornecedor pelo ID.")
 	public ResponseEntity<Fornecedor> findFornecedorById(@PathVariable Integer id) {
-		if (fornecedorService.findFornecedorById(id) == null) {
+		Fornecedor fornecedor = fornecedorService.findFornecedorById(id);
+		if (fornecedor == null) {
 			throw new NoSuchElementFoundException("Não foi encontrado Fornecedor com o id " + id);
 		} else {
-			return new ResponseEntity<>(fornecedorService.findFornecedorById(id), HttpStatus.OK);
+			return new ResponseEntity<>(fornecedor, HttpStatus.OK);
 		}
 	}
 
@@ -67,8 +135,8 @@ public class FornecedorController {
 			throw new NotNullException("CNPJ não pode ser nulo.");
 		}
 		
-		if (cnpj.length() != 14) {
-			throw new CNPJException("CNPJ deve ter 14 digitos. (Sem pontos, traços, ou barras.)");
+		if (!CnpjCodec.isValid(cnpj)) {
+			throw new CNPJException("CNPJ inválido. Informe os 14 dígitos, com ou sem pontos, traços e barras.");
 		}
 		
 		return new ResponseEntity<>(
@@ -77,16 +145,46 @@ public class FornecedorController {
 				HttpStatus.CREATED);
 	}
 
+	@PostMapping("/cnpj/validate")
+	@Operation(summary = "Validar formato e dígitos verificadores de uma lista de CNPJs.")
+	public ResponseEntity<CnpjValidacaoDTO> validateCnpj(@RequestBody List<String> cnpjs) {
+		return new ResponseEntity<>(fornecedorService.validarCnpjs(cnpjs), HttpStatus.OK);
+	}
+
+	@PostMapping("/lote")
+	@Operation(summary = "Cadastrar em segundo plano uma lista de Fornecedores a partir de seus CNPJs.")
+	public ResponseEntity<LoteStatusDTO> saveFornecedorLote(@RequestBody List<String> cnpjs) {
+		return new ResponseEntity<>(fornecedorLoteService.iniciarLote(cnpjs), HttpStatus.ACCEPTED);
+	}
+
+	@GetMapping("/lote/{id}")
+	@Operation(summary = "Consultar o andamento de um cadastro de Fornecedores em lote.")
+	public ResponseEntity<LoteStatusDTO> findFornecedorLoteById(@PathVariable String id) {
+		return new ResponseEntity<>(fornecedorLoteService.findLoteById(id), HttpStatus.OK);
+	}
+
 	@PostMapping("/completo")
 	@Operation(summary = "Postar um Fornecedor manualmente passando todos os dados necessários.")
 	public ResponseEntity<Fornecedor> saveFornecedorCompleto(@Valid @RequestBody Fornecedor fornecedor) {
 		if (!fornecedorService.CNPJValidFormatted(fornecedor.getCnpj())) {
-			throw new CNPJException("CNPJ deve ter 18 digitos incluindo pontos, traços, e barras.");
+			throw new CNPJException("CNPJ deve ter 18 digitos incluindo pontos, traços, e barras, e dígitos verificadores válidos.");
 		}
 		
 		return new ResponseEntity<>(fornecedorService.saveFornecedor(fornecedor), HttpStatus.CREATED);
 	}
 
+	@PostMapping("/batch")
+	@Operation(summary = "Postar uma lista de Fornecedores em lote passando todos os dados necessários.")
+	public ResponseEntity<List<Fornecedor>> saveFornecedorBatch(@RequestBody List<@Valid Fornecedor> fornecedores) {
+		for (Fornecedor fornecedor : fornecedores) {
+			if (!fornecedorService.CNPJValidFormatted(fornecedor.getCnpj())) {
+				throw new CNPJException("CNPJ deve ter 18 digitos incluindo pontos, traços, e barras, e dígitos verificadores válidos.");
+			}
+		}
+
+		return new ResponseEntity<>(fornecedorService.saveAllFornecedor(fornecedores), HttpStatus.CREATED);
+	}
+
 	@PostMapping("/dto")
 	@Operation(summary = "Postar um Fornecedor manualmente passando todos os dados necessários através de DTO.")
 	public ResponseEntity<FornecedorDTO> saveFornecedorDTO(@Valid @RequestBody FornecedorDTO fornecedorDTO) {
@@ -1,47 +1,133 @@
 package com.residencia.comercio.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.residencia.comercio.dtos.AlteracoesDTO;
+import com.residencia.comercio.dtos.ImagemStatusDTO;
+import com.residencia.comercio.dtos.PaginaDTO;
+import com.residencia.comercio.dtos.ResultadoLoteDTO;
 import com.residencia.comercio.dtos.ProdutoDTO;
+import com.residencia.comercio.dtos.SugestaoDTO;
+import com.residencia.comercio.dtos.UploadDTO;
 import com.residencia.comercio.entities.Produto;
 import com.residencia.comercio.exceptions.NoSuchElementFoundException;
 import com.residencia.comercio.exceptions.NotNullException;
+import com.residencia.comercio.services.ImagemService;
+import com.residencia.comercio.services.ImagemUploadService;
+import com.residencia.comercio.services.ImagemVarianteService;
+import com.residencia.comercio.services.ProdutoBuscaService;
 import com.residencia.comercio.services.ProdutoService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
+@Validated
 @RequestMapping("/produto")
 @Tag(name = "Produtos", description = "Endpoints")
 public class ProdutoController {
 	@Autowired
 	ProdutoService produtoService;
 
+	@Autowired
+	ProdutoBuscaService produtoBuscaService;
+
+	@Autowired
+	ImagemService imagemService;
+
+	@Autowired
+	ImagemVarianteService imagemVarianteService;
+
+	@Autowired
+	ImagemUploadService imagemUploadService;
+
 	@GetMapping
-	@Operation(summary = "Listar todos os Produtos.")
-	public ResponseEntity<List<Produto>> findAllProduto() {
-		if (produtoService.findAllProduto().isEmpty() == true) {
+	@Operation(summary = "Listar todos os Produtos com paginação por cursor.")
+	public ResponseEntity<PaginaDTO<Produto>> findAllProduto(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer tamanho) {
+		PaginaDTO<Produto> pagina = produtoService.findPageProduto(cursor, tamanho);
+		if (cursor == null && pagina.getConteudo().isEmpty()) {
 			throw new NoSuchElementFoundException("Não há Produtos cadastrados no sistema");
 		} else {
-			return new ResponseEntity<>(produtoService.findAllProduto(), HttpStatus.OK);
+			return new ResponseEntity<>(pagina, HttpStatus.OK);
+		}
+	}
+
+	@GetMapping("/sku/{sku}")
+	@Operation(summary = "Listar um Produto pelo SKU.")
+	public ResponseEntity<Produto> findProdutoBySku(@PathVariable String sku) {
+		Produto produto = produtoService.findProdutoBySku(sku);
+		if (produto == null) {
+			throw new NoSuchElementFoundException("Não foi encontrado um Produto com o SKU " + sku);
+		}
+		return new ResponseEntity<>(produto, HttpStatus.OK);
+	}
+
+	@GetMapping("/sku")
+	@Operation(summary = "Listar vários Produtos pelos SKUs informados, em uma única consulta.")
+	public ResponseEntity<List<Produto>> findAllProdutoBySku(@RequestParam List<String> skus) {
+		return new ResponseEntity<>(produtoService.findAllProdutoBySku(skus), HttpStatus.OK);
+	}
+
+	@GetMapping("/search")
+	@Operation(summary = "Buscar Produtos por nome ou SKU, ignorando acentos, com filtros opcionais de categoria e fornecedor.")
+	public ResponseEntity<List<ProdutoDTO>> searchProduto(@RequestParam String q,
+			@RequestParam(required = false) Integer categoria, @RequestParam(required = false) Integer fornecedor,
+			@RequestParam(required = false) Integer tamanho) {
+		return new ResponseEntity<>(produtoBuscaService.buscar(q, categoria, fornecedor, tamanho), HttpStatus.OK);
+	}
+
+	@GetMapping("/suggest")
+	@Operation(summary = "Sugerir Produtos cujo nome (ou alguma palavra do nome) começa com o prefixo informado.")
+	public ResponseEntity<List<SugestaoDTO>> suggestProduto(@RequestParam String prefix,
+			@RequestParam(required = false) Integer tamanho) {
+		return new ResponseEntity<>(produtoBuscaService.sugerir(prefix, tamanho), HttpStatus.OK);
+	}
+
+	@GetMapping(value = "/export", produces = "application/x-ndjson")
+	@Operation(summary = "Exportar todos os Produtos em NDJSON (um DTO por linha).")
+	public ResponseEntity<StreamingResponseBody> exportProduto() {
+		StreamingResponseBody body = outputStream -> produtoService.exportProdutoNdjson(outputStream);
+		return new ResponseEntity<>(body, HttpStatus.OK);
+	}
+
+	@GetMapping("/dto")
+	@Operation(summary = "Listar todos os Produtos através de DTO com paginação por cursor.")
+	public ResponseEntity<PaginaDTO<ProdutoDTO>> findAllProdutoDTO(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer tamanho) {
+		PaginaDTO<ProdutoDTO> pagina = produtoService.findPageProdutoDTO(cursor, tamanho);
+		if (cursor == null && pagina.getConteudo().isEmpty()) {
+			throw new NoSuchElementFoundException("Não há Produtos cadastrados no sistema");
+		} else {
+			return new ResponseEntity<>(pagina, HttpStatus.OK);
 		}
 	}
 
@@ -51,14 +137,71 @@ public class ProdutoController {
 		return new ResponseEntity<>(produtoService.findProdutoDTOById(id), HttpStatus.OK);
 	}
 
+	@GetMapping("/changes")
+	@Operation(summary = "Listar os Produtos alterados desde a marca informada e os IDs removidos, com paginação por cursor.")
+	public ResponseEntity<AlteracoesDTO<Produto>> findAlteracoesProduto(@RequestParam(required = false) String since,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer tamanho) {
+		return new ResponseEntity<>(produtoService.findAlteracoesProduto(since, cursor, tamanho), HttpStatus.OK);
+	}
+
+	@GetMapping(params = "ids")
+	@Operation(summary = "Listar vários Produtos pelos IDs informados, na ordem pedida, indicando os não encontrados.")
+	public ResponseEntity<ResultadoLoteDTO<Produto>> findAllProdutoById(@RequestParam List<Integer> ids) {
+		return new ResponseEntity<>(produtoService.findAllProdutoById(ids), HttpStatus.OK);
+	}
+
 	@GetMapping("/{id}")
 	@Operation(summary = "Listar um Produto pelo ID.")
 	public ResponseEntity<Produto> findProdutoById(@PathVariable Integer id) {
-		if (produtoService.findProdutoById(id) == null) {
+		Produto produto = produtoService.findProdutoById(id);
+		if (produto == null) {
 			throw new NoSuchElementFoundException("Não foi encontrado um Produto com o id " + id);
 		} else {
-			return new ResponseEntity<>(produtoService.findProdutoById(id), HttpStatus.OK);
+			return new ResponseEntity<>(produto, HttpStatus.OK);
+		}
+	}
+
+	@GetMapping("/{id}/imagem")
+	@Operation(summary = "Baixar a imagem de um Produto (suporta Range, requisições condicionais por ETag e ?variant=miniatura|media).")
+	public ResponseEntity<Resource> findImagemProduto(@PathVariable Integer id,
+			@RequestParam(required = false) String v,
+			@RequestParam(required = false) String variant,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		if (variant != null && !ImagemVarianteService.VARIANTES.containsKey(variant)) {
+			throw new NoSuchElementFoundException("A variante de imagem " + variant + " não existe");
+		}
+		String hash = produtoService.findImagemProdutoById(id);
+		String etag = "\"" + (variant == null ? hash : hash + "." + variant) + "\"";
+		String cacheControl = hash.equals(v) ? "public, max-age=31536000, immutable" : "no-cache";
+
+		if (naoModificado(ifNoneMatch, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+					.header(HttpHeaders.CACHE_CONTROL, cacheControl).build();
 		}
+
+		Path arquivo = variant == null ? null : imagemVarianteService.variante(id, hash, variant);
+		if (arquivo == null) {
+			if (!imagemService.existe(hash)) {
+				throw new NoSuchElementFoundException("Não foi encontrada imagem para o Produto com o id " + id);
+			}
+			arquivo = imagemService.caminho(hash);
+			if (variant != null) {
+				etag = "\"" + hash + "\"";
+				cacheControl = "no-cache";
+			}
+		}
+		return ResponseEntity.ok()
+				.eTag(etag)
+				.header(HttpHeaders.CACHE_CONTROL, cacheControl)
+				.contentType(imagemService.tipoConteudo(arquivo))
+				.body(new FileSystemResource(arquivo));
+	}
+
+	@GetMapping("/{id}/imagem/status")
+	@Operation(summary = "Consultar a geração das variantes da imagem de um Produto.")
+	public ResponseEntity<ImagemStatusDTO> findImagemStatusProduto(@PathVariable Integer id) {
+		String hash = produtoService.findImagemProdutoById(id);
+		return new ResponseEntity<>(imagemVarianteService.status(id, hash), HttpStatus.OK);
 	}
 
 	@PostMapping
@@ -76,6 +219,22 @@ public class ProdutoController {
 		return new ResponseEntity<>(produtoService.saveProduto(produto), HttpStatus.CREATED);
 	}
 
+	@PostMapping("/batch")
+	@Operation(summary = "Postar uma lista de Produtos em lote.")
+	public ResponseEntity<List<Produto>> saveProdutoBatch(@RequestBody List<@Valid Produto> produtos) {
+		for (Produto produto : produtos) {
+			if (produto.getFornecedor() == null || produto.getFornecedor().getIdFornecedor() == null) {
+				throw new NotNullException("ID do Fornecedor não pode ser nulo.");
+			}
+
+			if (produto.getCategoria() == null || produto.getCategoria().getIdCategoria() == null) {
+				throw new NotNullException("ID da Categoria não pode ser nulo.");
+			}
+		}
+
+		return new ResponseEntity<>(produtoService.saveAllProduto(produtos), HttpStatus.CREATED);
+	}
+
 	@PostMapping(value = "/com-foto", consumes = { MediaType.APPLICATION_JSON_VALUE,
 			MediaType.MULTIPART_FORM_DATA_VALUE })
 	@Operation(summary = "Postar um Produto com foto.")
@@ -84,6 +243,41 @@ public class ProdutoController {
 		return new ResponseEntity<>(produtoService.saveProdutoWithImage(produto, file), HttpStatus.CREATED);
 	}
 
+	@PostMapping("/upload")
+	@Operation(summary = "Iniciar o upload em blocos de uma imagem de Produto.")
+	public ResponseEntity<UploadDTO> iniciarUpload(@RequestParam Long tamanho,
+			@RequestParam(required = false) String hash) throws IOException {
+		return new ResponseEntity<>(imagemUploadService.iniciarUpload(tamanho, hash), HttpStatus.CREATED);
+	}
+
+	@GetMapping("/upload/{idUpload}")
+	@Operation(summary = "Consultar o offset confirmado de um upload em blocos, para retomá-lo.")
+	public ResponseEntity<UploadDTO> findUpload(@PathVariable String idUpload) {
+		return new ResponseEntity<>(imagemUploadService.findUploadById(idUpload), HttpStatus.OK);
+	}
+
+	@PutMapping(value = "/upload/{idUpload}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	@Operation(summary = "Enviar um bloco do upload no offset informado, com o CRC32C no cabeçalho X-Checksum-CRC32C.")
+	public ResponseEntity<UploadDTO> receberBlocoUpload(@PathVariable String idUpload, @RequestParam Long offset,
+			@RequestHeader(value = "X-Checksum-CRC32C", required = false) String checksum, InputStream corpo)
+			throws IOException {
+		return new ResponseEntity<>(imagemUploadService.receberBloco(idUpload, offset, checksum, corpo),
+				HttpStatus.OK);
+	}
+
+	@PostMapping("/upload/{idUpload}/concluir")
+	@Operation(summary = "Concluir um upload em blocos e anexar a imagem a um Produto.")
+	public ResponseEntity<Produto> concluirUpload(@PathVariable String idUpload, @RequestParam Integer idProduto) {
+		return new ResponseEntity<>(produtoService.saveImagemProduto(idProduto, idUpload), HttpStatus.OK);
+	}
+
+	@DeleteMapping("/upload/{idUpload}")
+	@Operation(summary = "Cancelar um upload em blocos.")
+	public ResponseEntity<String> cancelarUpload(@PathVariable String idUpload) throws IOException {
+		imagemUploadService.cancelar(idUpload);
+		return new ResponseEntity<>("Upload cancelado com sucesso", HttpStatus.OK);
+	}
+
 	@PostMapping("/dto")
 	@Operation(summary = "Postar um Produto sem foto através de DTO.")
 	public ResponseEntity<ProdutoDTO> saveProdutoDTO(@Valid @RequestBody ProdutoDTO produtoDTO) {
@@ -108,4 +302,9 @@ public class ProdutoController {
 		}
 	}
 
+	private boolean naoModificado(String ifNoneMatch, String etag) {
+		return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+				.map(tag -> tag.trim().replaceFirst("^W/", ""))
+				.anyMatch(tag -> tag.equals(etag) || tag.equals("*"));
+	}
 }
@@ -0,0 +1,54 @@
+package com.residencia.comercio.dtos;
+
+import java.time.Instant;
+import java.util.List;
+
+public class AlteracoesDTO<T> {
+	private List<T> conteudo;
+	private List<Integer> removidos;
+	private String proximo;
+	private Instant marca;
+
+	public AlteracoesDTO() {
+	}
+
+	public AlteracoesDTO(List<T> conteudo, List<Integer> removidos, String proximo, Instant marca) {
+		this.conteudo = conteudo;
+		this.removidos = removidos;
+		this.proximo = proximo;
+		this.marca = marca;
+	}
+
+	public List<T> getConteudo() {
+		return conteudo;
+	}
+
+	public void setConteudo(List<T> conteudo) {
+		this.conteudo = conteudo;
+	}
+
+	public List<Integer> getRemovidos() {
+		return removidos;
+	}
+
+	public void setRemovidos(List<Integer> removidos) {
+		this.removidos = removidos;
+	}
+
+	public String getProximo() {
+		return proximo;
+	}
+
+	public void setProximo(String proximo) {
+		this.proximo = proximo;
+	}
+
+	public Instant getMarca() {
+		return marca;
+	}
+
+	public void setMarca(Instant marca) {
+		this.marca = marca;
+	}
+
+}
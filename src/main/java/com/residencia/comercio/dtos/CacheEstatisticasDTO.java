@@ -0,0 +1,61 @@
+package com.residencia.comercio.dtos;
+
+public class CacheEstatisticasDTO {
+	private String nome;
+	private Long tamanho;
+	private Long acertos;
+	private Long falhas;
+	private Double taxaAcerto;
+
+	public CacheEstatisticasDTO() {
+	}
+
+	public CacheEstatisticasDTO(String nome, long tamanho, long acertos, long falhas) {
+		this.nome = nome;
+		this.tamanho = tamanho;
+		this.acertos = acertos;
+		this.falhas = falhas;
+		this.taxaAcerto = acertos + falhas == 0 ? 0.0 : (double) acertos / (acertos + falhas);
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+
+	public Long getTamanho() {
+		return tamanho;
+	}
+
+	public void setTamanho(Long tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	public Long getAcertos() {
+		return acertos;
+	}
+
+	public void setAcertos(Long acertos) {
+		this.acertos = acertos;
+	}
+
+	public Long getFalhas() {
+		return falhas;
+	}
+
+	public void setFalhas(Long falhas) {
+		this.falhas = falhas;
+	}
+
+	public Double getTaxaAcerto() {
+		return taxaAcerto;
+	}
+
+	public void setTaxaAcerto(Double taxaAcerto) {
+		this.taxaAcerto = taxaAcerto;
+	}
+
+}
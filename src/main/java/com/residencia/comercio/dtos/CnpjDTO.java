@@ -2,6 +2,8 @@ package com.residencia.comercio.dtos;
 
 public class CnpjDTO {
 	
+	private String status;
+	private String message;
 	private String situacao;
 	private String tipo;
 	private String nome;
@@ -18,6 +20,22 @@ public class CnpjDTO {
 	private String municipio;
 	private String uf;
 
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
 	public String getSituacao() {
 		return situacao;
 	}
@@ -0,0 +1,43 @@
+package com.residencia.comercio.dtos;
+
+import java.util.List;
+
+public class CnpjValidacaoDTO {
+	private Integer total;
+	private Integer validos;
+	private Integer invalidos;
+	private List<Integer> indicesInvalidos;
+
+	public Integer getTotal() {
+		return total;
+	}
+
+	public void setTotal(Integer total) {
+		this.total = total;
+	}
+
+	public Integer getValidos() {
+		return validos;
+	}
+
+	public void setValidos(Integer validos) {
+		this.validos = validos;
+	}
+
+	public Integer getInvalidos() {
+		return invalidos;
+	}
+
+	public void setInvalidos(Integer invalidos) {
+		this.invalidos = invalidos;
+	}
+
+	public List<Integer> getIndicesInvalidos() {
+		return indicesInvalidos;
+	}
+
+	public void setIndicesInvalidos(List<Integer> indicesInvalidos) {
+		this.indicesInvalidos = indicesInvalidos;
+	}
+
+}
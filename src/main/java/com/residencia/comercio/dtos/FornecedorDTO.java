@@ -22,6 +22,31 @@ public class FornecedorDTO {
 	private Date dataAbertura;
 	// private List<ProdutoDTO> produtoDTOList;
 
+	public FornecedorDTO() {
+	}
+
+	public FornecedorDTO(Integer idFornecedor, String cnpj, String tipo, String razaoSocial, String uf,
+			String telefone, String email, String nomeFantasia, String statusSituacao, String bairro,
+			String logradouro, Integer numero, String complemento, String cep, String municipio,
+			Date dataAbertura) {
+		this.idFornecedor = idFornecedor;
+		this.cnpj = cnpj;
+		this.tipo = tipo;
+		this.razaoSocial = razaoSocial;
+		this.uf = uf;
+		this.telefone = telefone;
+		this.email = email;
+		this.nomeFantasia = nomeFantasia;
+		this.statusSituacao = statusSituacao;
+		this.bairro = bairro;
+		this.logradouro = logradouro;
+		this.numero = numero;
+		this.complemento = complemento;
+		this.cep = cep;
+		this.municipio = municipio;
+		this.dataAbertura = dataAbertura;
+	}
+
 	public Integer getIdFornecedor() {
 		return idFornecedor;
 	}
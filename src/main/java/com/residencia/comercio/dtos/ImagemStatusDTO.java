@@ -0,0 +1,61 @@
+package com.residencia.comercio.dtos;
+
+import java.util.List;
+
+public class ImagemStatusDTO {
+	private Integer idProduto;
+	private String hash;
+	private String status;
+	private Integer tentativas;
+	private List<String> variantes;
+	private String erro;
+
+	public Integer getIdProduto() {
+		return idProduto;
+	}
+
+	public void setIdProduto(Integer idProduto) {
+		this.idProduto = idProduto;
+	}
+
+	public String getHash() {
+		return hash;
+	}
+
+	public void setHash(String hash) {
+		this.hash = hash;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public Integer getTentativas() {
+		return tentativas;
+	}
+
+	public void setTentativas(Integer tentativas) {
+		this.tentativas = tentativas;
+	}
+
+	public List<String> getVariantes() {
+		return variantes;
+	}
+
+	public void setVariantes(List<String> variantes) {
+		this.variantes = variantes;
+	}
+
+	public String getErro() {
+		return erro;
+	}
+
+	public void setErro(String erro) {
+		this.erro = erro;
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.residencia.comercio.dtos;
+
+import java.util.Date;
+import java.util.Map;
+
+public class LoteStatusDTO {
+	private String idLote;
+	private String status;
+	private Integer total;
+	private Integer processados;
+	private Integer sucessos;
+	private Integer falhas;
+	private Double throughputPorSegundo;
+	private Date inicio;
+	private Date fim;
+	private Map<String, String> erros;
+
+	public String getIdLote() {
+		return idLote;
+	}
+
+	public void setIdLote(String idLote) {
+		this.idLote = idLote;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public Integer getTotal() {
+		return total;
+	}
+
+	public void setTotal(Integer total) {
+		this.total = total;
+	}
+
+	public Integer getProcessados() {
+		return processados;
+	}
+
+	public void setProcessados(Integer processados) {
+		this.processados = processados;
+	}
+
+	public Integer getSucessos() {
+		return sucessos;
+	}
+
+	public void setSucessos(Integer sucessos) {
+		this.sucessos = sucessos;
+	}
+
+	public Integer getFalhas() {
+		return falhas;
+	}
+
+	public void setFalhas(Integer falhas) {
+		this.falhas = falhas;
+	}
+
+	public Double getThroughputPorSegundo() {
+		return throughputPorSegundo;
+	}
+
+	public void setThroughputPorSegundo(Double throughputPorSegundo) {
+		this.throughputPorSegundo = throughputPorSegundo;
+	}
+
+	public Date getInicio() {
+		return inicio;
+	}
+
+	public void setInicio(Date inicio) {
+		this.inicio = inicio;
+	}
+
+	public Date getFim() {
+		return fim;
+	}
+
+	public void setFim(Date fim) {
+		this.fim = fim;
+	}
+
+	public Map<String, String> getErros() {
+		return erros;
+	}
+
+	public void setErros(Map<String, String> erros) {
+		this.erros = erros;
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.residencia.comercio.dtos;
+
+import java.util.List;
+
+public class PaginaDTO<T> {
+	private List<T> conteudo;
+	private Integer tamanho;
+	private String proximo;
+
+	public PaginaDTO() {
+	}
+
+	public PaginaDTO(List<T> conteudo, String proximo) {
+		this.conteudo = conteudo;
+		this.tamanho = conteudo.size();
+		this.proximo = proximo;
+	}
+
+	public List<T> getConteudo() {
+		return conteudo;
+	}
+
+	public void setConteudo(List<T> conteudo) {
+		this.conteudo = conteudo;
+	}
+
+	public Integer getTamanho() {
+		return tamanho;
+	}
+
+	public void setTamanho(Integer tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	public String getProximo() {
+		return proximo;
+	}
+
+	public void setProximo(String proximo) {
+		this.proximo = proximo;
+	}
+
+}
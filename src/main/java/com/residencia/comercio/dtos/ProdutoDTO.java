@@ -9,6 +9,20 @@ public class ProdutoDTO {
 	private Integer categoriaId;
 	private String categoriaNome;
 
+	public ProdutoDTO() {
+	}
+
+	public ProdutoDTO(Integer idProduto, String sku, String nomeProduto, Integer fornecedorId, String fornecedorNome,
+			Integer categoriaId, String categoriaNome) {
+		this.idProduto = idProduto;
+		this.sku = sku;
+		this.nomeProduto = nomeProduto;
+		this.fornecedorId = fornecedorId;
+		this.fornecedorNome = fornecedorNome;
+		this.categoriaId = categoriaId;
+		this.categoriaNome = categoriaNome;
+	}
+
 	public Integer getIdProduto() {
 		return idProduto;
 	}
@@ -0,0 +1,33 @@
+package com.residencia.comercio.dtos;
+
+import java.util.List;
+
+public class ResultadoLoteDTO<T> {
+	private List<T> conteudo;
+	private List<Integer> naoEncontrados;
+
+	public ResultadoLoteDTO() {
+	}
+
+	public ResultadoLoteDTO(List<T> conteudo, List<Integer> naoEncontrados) {
+		this.conteudo = conteudo;
+		this.naoEncontrados = naoEncontrados;
+	}
+
+	public List<T> getConteudo() {
+		return conteudo;
+	}
+
+	public void setConteudo(List<T> conteudo) {
+		this.conteudo = conteudo;
+	}
+
+	public List<Integer> getNaoEncontrados() {
+		return naoEncontrados;
+	}
+
+	public void setNaoEncontrados(List<Integer> naoEncontrados) {
+		this.naoEncontrados = naoEncontrados;
+	}
+
+}
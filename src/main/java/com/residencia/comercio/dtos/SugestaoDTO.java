@@ -0,0 +1,31 @@
+package com.residencia.comercio.dtos;
+
+public class SugestaoDTO {
+	private Integer id;
+	private String nome;
+
+	public SugestaoDTO() {
+	}
+
+	public SugestaoDTO(Integer id, String nome) {
+		this.id = id;
+		this.nome = nome;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public void setNome(String nome) {
+		this.nome = nome;
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.residencia.comercio.dtos;
+
+public class UploadDTO {
+	private String idUpload;
+	private Long tamanho;
+	private Long tamanhoBloco;
+	private Long confirmado;
+	private Integer blocosRecebidos;
+	private Integer totalBlocos;
+
+	public String getIdUpload() {
+		return idUpload;
+	}
+
+	public void setIdUpload(String idUpload) {
+		this.idUpload = idUpload;
+	}
+
+	public Long getTamanho() {
+		return tamanho;
+	}
+
+	public void setTamanho(Long tamanho) {
+		this.tamanho = tamanho;
+	}
+
+	public Long getTamanhoBloco() {
+		return tamanhoBloco;
+	}
+
+	public void setTamanhoBloco(Long tamanhoBloco) {
+		this.tamanhoBloco = tamanhoBloco;
+	}
+
+	public Long getConfirmado() {
+		return confirmado;
+	}
+
+	public void setConfirmado(Long confirmado) {
+		this.confirmado = confirmado;
+	}
+
+	public Integer getBlocosRecebidos() {
+		return blocosRecebidos;
+	}
+
+	public void setBlocosRecebidos(Integer blocosRecebidos) {
+		this.blocosRecebidos = blocosRecebidos;
+	}
+
+	public Integer getTotalBlocos() {
+		return totalBlocos;
+	}
+
+	public void setTotalBlocos(Integer totalBlocos) {
+		this.totalBlocos = totalBlocos;
+	}
+
+}
@@ -1,23 +1,39 @@
 package com.residencia.comercio.entities;
 
+import java.time.Instant;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotEmpty;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 @Entity
-@Table(name = "categoria")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categoria")
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "categoria", indexes = @Index(name = "ix_categoria_updated_at", columnList = "updated_at, id_categoria"))
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "idCategoria")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Categoria {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categoria_seq")
+	@SequenceGenerator(name = "categoria_seq", sequenceName = "categoria_id_categoria_seq", allocationSize = 50)
 	@Column(name = "id_categoria")
 	private Integer idCategoria;
 
@@ -25,10 +41,24 @@ public class Categoria {
 	@NotEmpty(message = "O nome da categoria não pode ficar em branco.")
 	private String nomeCategoria;
 
+	@LastModifiedDate
+	@Column(name = "updated_at")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Instant atualizadoEm;
+
 	// @OneToMany(mappedBy = "categoria")
 	// @JsonManagedReference
 	// private List<Produto> produtoList;
 
+	public Categoria() {
+	}
+
+	public Categoria(Categoria categoria) {
+		this.idCategoria = categoria.getIdCategoria();
+		this.nomeCategoria = categoria.getNomeCategoria();
+		this.atualizadoEm = categoria.getAtualizadoEm();
+	}
+
 	public Integer getIdCategoria() {
 		return idCategoria;
 	}
@@ -45,4 +75,12 @@ public class Categoria {
 		this.nomeCategoria = nomeCategoria;
 	}
 
+	public Instant getAtualizadoEm() {
+		return atualizadoEm;
+	}
+
+	public void setAtualizadoEm(Instant atualizadoEm) {
+		this.atualizadoEm = atualizadoEm;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.residencia.comercio.entities;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "exclusao", indexes = @Index(name = "ix_exclusao_recurso", columnList = "recurso, excluido_em"))
+public class Exclusao {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exclusao_seq")
+	@SequenceGenerator(name = "exclusao_seq", sequenceName = "exclusao_id_exclusao_seq", allocationSize = 50)
+	@Column(name = "id_exclusao")
+	private Long idExclusao;
+
+	@Column(name = "recurso")
+	private String recurso;
+
+	@Column(name = "id_registro")
+	private Integer idRegistro;
+
+	@CreatedDate
+	@Column(name = "excluido_em")
+	private Instant excluidoEm;
+
+	public Exclusao() {
+	}
+
+	public Exclusao(String recurso, Integer idRegistro) {
+		this.recurso = recurso;
+		this.idRegistro = idRegistro;
+	}
+
+	public Long getIdExclusao() {
+		return idExclusao;
+	}
+
+	public void setIdExclusao(Long idExclusao) {
+		this.idExclusao = idExclusao;
+	}
+
+	public String getRecurso() {
+		return recurso;
+	}
+
+	public void setRecurso(String recurso) {
+		this.recurso = recurso;
+	}
+
+	public Integer getIdRegistro() {
+		return idRegistro;
+	}
+
+	public void setIdRegistro(Integer idRegistro) {
+		this.idRegistro = idRegistro;
+	}
+
+	public Instant getExcluidoEm() {
+		return excluidoEm;
+	}
+
+	public void setExcluidoEm(Instant excluidoEm) {
+		this.excluidoEm = excluidoEm;
+	}
+}
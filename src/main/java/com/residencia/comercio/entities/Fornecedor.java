@@ -1,27 +1,43 @@
 package com.residencia.comercio.entities;
 
+import java.time.Instant;
 import java.util.Date;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Past;
 import javax.validation.constraints.Pattern;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 @Entity
-@Table(name = "fornecedor")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "fornecedor")
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "fornecedor", indexes = { @Index(name = "ux_fornecedor_cnpj", columnList = "cnpj", unique = true),
+		@Index(name = "ix_fornecedor_updated_at", columnList = "updated_at, id_fornecedor") })
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "idFornecedor")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Fornecedor {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fornecedor_seq")
+	@SequenceGenerator(name = "fornecedor_seq", sequenceName = "fornecedor_id_fornecedor_seq", allocationSize = 50)
 	@Column(name = "id_fornecedor")
 	private Integer idFornecedor;
 
@@ -73,10 +89,38 @@ public class Fornecedor {
 	@Past(message = "Data de abertura do Fornecedor não pode ser no futuro.")
 	private Date dataAbertura;
 
+	@LastModifiedDate
+	@Column(name = "updated_at")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Instant atualizadoEm;
+
 	// @OneToMany(mappedBy = "fornecedor")
 	// @JsonManagedReference
 	// private List<Produto> produtoList;
 
+	public Fornecedor() {
+	}
+
+	public Fornecedor(Fornecedor fornecedor) {
+		this.idFornecedor = fornecedor.getIdFornecedor();
+		this.cnpj = fornecedor.getCnpj();
+		this.tipo = fornecedor.getTipo();
+		this.razaoSocial = fornecedor.getRazaoSocial();
+		this.uf = fornecedor.getUf();
+		this.telefone = fornecedor.getTelefone();
+		this.email = fornecedor.getEmail();
+		this.nomeFantasia = fornecedor.getNomeFantasia();
+		this.statusSituacao = fornecedor.getStatusSituacao();
+		this.bairro = fornecedor.getBairro();
+		this.logradouro = fornecedor.getLogradouro();
+		this.numero = fornecedor.getNumero();
+		this.complemento = fornecedor.getComplemento();
+		this.cep = fornecedor.getCep();
+		this.municipio = fornecedor.getMunicipio();
+		this.dataAbertura = fornecedor.getDataAbertura() == null ? null : new Date(fornecedor.getDataAbertura().getTime());
+		this.atualizadoEm = fornecedor.getAtualizadoEm();
+	}
+
 	public Integer getIdFornecedor() {
 		return idFornecedor;
 	}
@@ -205,4 +249,12 @@ public class Fornecedor {
 		this.dataAbertura = dataAbertura;
 	}
 
+	public Instant getAtualizadoEm() {
+		return atualizadoEm;
+	}
+
+	public void setAtualizadoEm(Instant atualizadoEm) {
+		this.atualizadoEm = atualizadoEm;
+	}
+
 }
\ No newline at end of file
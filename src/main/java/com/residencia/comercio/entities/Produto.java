@@ -1,26 +1,39 @@
 package com.residencia.comercio.entities;
 
+import java.time.Instant;
+
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
 
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 @Entity
-@Table(name = "produto")
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "produto", indexes = { @Index(name = "ux_produto_sku", columnList = "sku", unique = true),
+		@Index(name = "ix_produto_updated_at", columnList = "updated_at, id_produto") })
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "idProduto")
 public class Produto {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+	@SequenceGenerator(name = "produto_seq", sequenceName = "produto_id_produto_seq", allocationSize = 50)
 	@Column(name = "id_produto")
 	private Integer idProduto;
 
@@ -35,14 +48,19 @@ public class Produto {
 	@Column(name = "imagem")
 	private String imagemProduto;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_fornecedor", referencedColumnName = "id_fornecedor")
 	private Fornecedor fornecedor;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_categoria", referencedColumnName = "id_categoria")
 	private Categoria categoria;
 
+	@LastModifiedDate
+	@Column(name = "updated_at")
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Instant atualizadoEm;
+
 	public Integer getIdProduto() {
 		return idProduto;
 	}
@@ -90,4 +108,12 @@ public class Produto {
 	public void setCategoria(Categoria categoria) {
 		this.categoria = categoria;
 	}
+
+	public Instant getAtualizadoEm() {
+		return atualizadoEm;
+	}
+
+	public void setAtualizadoEm(Instant atualizadoEm) {
+		this.atualizadoEm = atualizadoEm;
+	}
 }
@@ -0,0 +1,117 @@
+package com.residencia.comercio.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "produto_view", indexes = {
+		@Index(name = "ix_produto_view_fornecedor", columnList = "id_fornecedor, id_produto"),
+		@Index(name = "ix_produto_view_categoria", columnList = "id_categoria, id_produto") })
+public class ProdutoView implements Persistable<Integer> {
+
+	@Id
+	@Column(name = "id_produto")
+	private Integer idProduto;
+
+	@Column(name = "sku")
+	private String sku;
+
+	@Column(name = "nome_produto")
+	private String nomeProduto;
+
+	@Column(name = "id_fornecedor")
+	private Integer fornecedorId;
+
+	@Column(name = "nome_fornecedor")
+	private String fornecedorNome;
+
+	@Column(name = "id_categoria")
+	private Integer categoriaId;
+
+	@Column(name = "nome_categoria")
+	private String categoriaNome;
+
+	@Transient
+	private boolean novo = true;
+
+	@PostLoad
+	@PostPersist
+	void marcarPersistido() {
+		novo = false;
+	}
+
+	@Override
+	public Integer getId() {
+		return idProduto;
+	}
+
+	@Override
+	public boolean isNew() {
+		return novo;
+	}
+
+	public Integer getIdProduto() {
+		return idProduto;
+	}
+
+	public void setIdProduto(Integer idProduto) {
+		this.idProduto = idProduto;
+	}
+
+	public String getSku() {
+		return sku;
+	}
+
+	public void setSku(String sku) {
+		this.sku = sku;
+	}
+
+	public String getNomeProduto() {
+		return nomeProduto;
+	}
+
+	public void setNomeProduto(String nomeProduto) {
+		this.nomeProduto = nomeProduto;
+	}
+
+	public Integer getFornecedorId() {
+		return fornecedorId;
+	}
+
+	public void setFornecedorId(Integer fornecedorId) {
+		this.fornecedorId = fornecedorId;
+	}
+
+	public String getFornecedorNome() {
+		return fornecedorNome;
+	}
+
+	public void setFornecedorNome(String fornecedorNome) {
+		this.fornecedorNome = fornecedorNome;
+	}
+
+	public Integer getCategoriaId() {
+		return categoriaId;
+	}
+
+	public void setCategoriaId(Integer categoriaId) {
+		this.categoriaId = categoriaId;
+	}
+
+	public String getCategoriaNome() {
+		return categoriaNome;
+	}
+
+	public void setCategoriaNome(String categoriaNome) {
+		this.categoriaNome = categoriaNome;
+	}
+
+}
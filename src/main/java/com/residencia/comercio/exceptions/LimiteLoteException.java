@@ -0,0 +1,10 @@
+package com.residencia.comercio.exceptions;
+
+public class LimiteLoteException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public LimiteLoteException(String message) {
+		super(message);
+	}
+}
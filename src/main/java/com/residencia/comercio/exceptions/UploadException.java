@@ -0,0 +1,10 @@
+package com.residencia.comercio.exceptions;
+
+public class UploadException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public UploadException(String message) {
+		super(message);
+	}
+}
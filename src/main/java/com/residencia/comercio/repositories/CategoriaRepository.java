@@ -1,9 +1,32 @@
 package com.residencia.comercio.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+import java.time.Instant;
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.residencia.comercio.entities.Categoria;
 
 public interface CategoriaRepository extends JpaRepository<Categoria,Integer> {
 
-}
\ No newline at end of file
+	@Override
+	@QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "consultas") })
+	List<Categoria> findAll();
+
+	List<Categoria> findByIdCategoriaGreaterThanOrderByIdCategoriaAsc(Integer idCategoria, Pageable pageable);
+
+	@Query("select c from Categoria c where (c.atualizadoEm > :data or (c.atualizadoEm = :data and c.idCategoria > :idCategoria)) "
+			+ "and c.atualizadoEm <= :ate order by c.atualizadoEm, c.idCategoria")
+	List<Categoria> findAlteracoes(@Param("data") Instant data, @Param("idCategoria") Integer idCategoria,
+			@Param("ate") Instant ate, Pageable pageable);
+
+}
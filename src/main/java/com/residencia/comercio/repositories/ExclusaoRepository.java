@@ -0,0 +1,19 @@
+package com.residencia.comercio.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.residencia.comercio.entities.Exclusao;
+
+public interface ExclusaoRepository extends JpaRepository<Exclusao,Long> {
+
+	@Query("select distinct e.idRegistro from Exclusao e where e.recurso = :recurso "
+			+ "and e.excluidoEm > :desde and e.excluidoEm <= :ate order by e.idRegistro")
+	List<Integer> findIdRegistroExcluido(@Param("recurso") String recurso, @Param("desde") Instant desde,
+			@Param("ate") Instant ate);
+
+}
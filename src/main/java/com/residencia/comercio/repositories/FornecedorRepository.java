@@ -1,9 +1,53 @@
 package com.residencia.comercio.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.residencia.comercio.dtos.FornecedorDTO;
+import com.residencia.comercio.dtos.SugestaoDTO;
 import com.residencia.comercio.entities.Fornecedor;
 
 public interface FornecedorRepository extends JpaRepository<Fornecedor,Integer> {
 
-}
\ No newline at end of file
+	@Override
+	@QueryHints({ @QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "consultas") })
+	List<Fornecedor> findAll();
+
+	String FORNECEDOR_DTO = "select new com.residencia.comercio.dtos.FornecedorDTO(f.idFornecedor, f.cnpj, f.tipo, "
+			+ "f.razaoSocial, f.uf, f.telefone, f.email, f.nomeFantasia, f.statusSituacao, f.bairro, f.logradouro, "
+			+ "f.numero, f.complemento, f.cep, f.municipio, f.dataAbertura) from Fornecedor f ";
+
+	Optional<Fornecedor> findByCnpj(String cnpj);
+
+	List<Fornecedor> findByCnpjIn(Collection<String> cnpjs);
+
+	List<Fornecedor> findByIdFornecedorGreaterThanOrderByIdFornecedorAsc(Integer idFornecedor, Pageable pageable);
+
+	@Query("select f from Fornecedor f where (f.atualizadoEm > :data or (f.atualizadoEm = :data and f.idFornecedor > :idFornecedor)) "
+			+ "and f.atualizadoEm <= :ate order by f.atualizadoEm, f.idFornecedor")
+	List<Fornecedor> findAlteracoes(@Param("data") Instant data, @Param("idFornecedor") Integer idFornecedor,
+			@Param("ate") Instant ate, Pageable pageable);
+
+	@Query(FORNECEDOR_DTO + "where f.idFornecedor = :idFornecedor")
+	Optional<FornecedorDTO> findFornecedorDTOById(@Param("idFornecedor") Integer idFornecedor);
+
+	@Query(FORNECEDOR_DTO + "where f.idFornecedor > :idFornecedor order by f.idFornecedor")
+	List<FornecedorDTO> findFornecedorDTOPage(@Param("idFornecedor") Integer idFornecedor, Pageable pageable);
+
+	@Query("select new com.residencia.comercio.dtos.SugestaoDTO(f.idFornecedor, f.nomeFantasia) from Fornecedor f")
+	List<SugestaoDTO> findAllSugestao();
+
+}
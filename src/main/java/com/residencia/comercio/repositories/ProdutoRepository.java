@@ -1,9 +1,87 @@
 package com.residencia.comercio.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.residencia.comercio.dtos.ProdutoDTO;
 import com.residencia.comercio.entities.Produto;
 
 public interface ProdutoRepository extends JpaRepository<Produto,Integer> {
 
-}
\ No newline at end of file
+	String PRODUTO_DTO = "select new com.residencia.comercio.dtos.ProdutoDTO(p.idProduto, p.sku, p.nomeProduto, "
+			+ "f.idFornecedor, f.nomeFantasia, c.idCategoria, c.nomeCategoria) "
+			+ "from Produto p left join p.fornecedor f left join p.categoria c ";
+
+	@Override
+	@EntityGraph(attributePaths = { "fornecedor", "categoria" })
+	List<Produto> findAll();
+
+	@Override
+	@EntityGraph(attributePaths = { "fornecedor", "categoria" })
+	Optional<Produto> findById(Integer idProduto);
+
+	@Override
+	@EntityGraph(attributePaths = { "fornecedor", "categoria" })
+	List<Produto> findAllById(Iterable<Integer> idsProduto);
+
+	@EntityGraph(attributePaths = { "fornecedor", "categoria" })
+	Optional<Produto> findBySku(String sku);
+
+	@EntityGraph(attributePaths = { "fornecedor", "categoria" })
+	List<Produto> findBySkuIn(Collection<String> skus);
+
+	@EntityGraph(attributePaths = { "fornecedor", "categoria" })
+	List<Produto> findByIdProdutoGreaterThanOrderByIdProdutoAsc(Integer idProduto, Pageable pageable);
+
+	@EntityGraph(attributePaths = { "fornecedor", "categoria" })
+	@Query("select p from Produto p where (p.atualizadoEm > :data or (p.atualizadoEm = :data and p.idProduto > :idProduto)) "
+			+ "and p.atualizadoEm <= :ate order by p.atualizadoEm, p.idProduto")
+	List<Produto> findAlteracoes(@Param("data") Instant data, @Param("idProduto") Integer idProduto,
+			@Param("ate") Instant ate, Pageable pageable);
+
+	@Query(PRODUTO_DTO + "where p.idProduto = :idProduto")
+	Optional<ProdutoDTO> findProdutoDTOById(@Param("idProduto") Integer idProduto);
+
+	@Query(PRODUTO_DTO + "where p.idProduto > :idProduto order by p.idProduto")
+	List<ProdutoDTO> findProdutoDTOPage(@Param("idProduto") Integer idProduto, Pageable pageable);
+
+	@Query(PRODUTO_DTO + "where p.idProduto in :ids")
+	List<ProdutoDTO> findProdutoDTOByIdIn(@Param("ids") Collection<Integer> ids);
+
+	@Query(PRODUTO_DTO + "where p.atualizadoEm > :desde or f.atualizadoEm > :desde or c.atualizadoEm > :desde")
+	List<ProdutoDTO> findProdutoDTOAlteradoDesde(@Param("desde") Instant desde);
+
+	@Query("select p.imagemProduto from Produto p where p.idProduto = :idProduto")
+	Optional<String> findImagemProdutoById(@Param("idProduto") Integer idProduto);
+
+	@Modifying
+	@Query("update Produto p set p.imagemProduto = :hash, p.atualizadoEm = :atualizadoEm "
+			+ "where p.idProduto = :idProduto and p.imagemProduto = :imagem")
+	int updateImagemProdutoLegada(@Param("idProduto") Integer idProduto, @Param("imagem") String imagem,
+			@Param("hash") String hash, @Param("atualizadoEm") Instant atualizadoEm);
+
+	@Query("select p from Produto p left join fetch p.fornecedor left join fetch p.categoria order by p.idProduto")
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true") })
+	Stream<Produto> streamAllProduto();
+
+	@Query(PRODUTO_DTO + "order by p.idProduto")
+	@QueryHints({ @QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true") })
+	Stream<ProdutoDTO> streamAllProdutoDTO();
+
+}
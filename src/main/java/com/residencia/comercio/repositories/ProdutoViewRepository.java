@@ -0,0 +1,55 @@
+package com.residencia.comercio.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.residencia.comercio.dtos.ProdutoDTO;
+import com.residencia.comercio.entities.ProdutoView;
+
+public interface ProdutoViewRepository extends JpaRepository<ProdutoView,Integer> {
+
+	String PRODUTO_DTO = "select new com.residencia.comercio.dtos.ProdutoDTO(v.idProduto, v.sku, v.nomeProduto, "
+			+ "v.fornecedorId, v.fornecedorNome, v.categoriaId, v.categoriaNome) from ProdutoView v ";
+
+	@Query(PRODUTO_DTO + "where v.idProduto = :idProduto")
+	Optional<ProdutoDTO> findProdutoDTOById(@Param("idProduto") Integer idProduto);
+
+	@Query(PRODUTO_DTO + "where v.idProduto > :idProduto order by v.idProduto")
+	List<ProdutoDTO> findProdutoDTOPage(@Param("idProduto") Integer idProduto, Pageable pageable);
+
+	@Query("select v.idProduto from ProdutoView v where v.fornecedorId = :idFornecedor and v.idProduto > :idProduto "
+			+ "and coalesce(v.fornecedorNome, '') <> :nome order by v.idProduto")
+	List<Integer> findIdProdutoDesatualizadoByFornecedorId(@Param("idFornecedor") Integer idFornecedor,
+			@Param("nome") String nome, @Param("idProduto") Integer idProduto, Pageable pageable);
+
+	@Query("select v.idProduto from ProdutoView v where v.categoriaId = :idCategoria and v.idProduto > :idProduto "
+			+ "and coalesce(v.categoriaNome, '') <> :nome order by v.idProduto")
+	List<Integer> findIdProdutoDesatualizadoByCategoriaId(@Param("idCategoria") Integer idCategoria,
+			@Param("nome") String nome, @Param("idProduto") Integer idProduto, Pageable pageable);
+
+	@Query("select distinct v.fornecedorId from ProdutoView v where v.fornecedorId in :ids")
+	List<Integer> findFornecedorIdIn(@Param("ids") Collection<Integer> ids);
+
+	@Query("select distinct v.categoriaId from ProdutoView v where v.categoriaId in :ids")
+	List<Integer> findCategoriaIdIn(@Param("ids") Collection<Integer> ids);
+
+	@Modifying
+	@Query("update ProdutoView v set v.fornecedorNome = :nome where v.fornecedorId = :idFornecedor "
+			+ "and v.idProduto in :ids")
+	int updateFornecedorNome(@Param("idFornecedor") Integer idFornecedor, @Param("nome") String nome,
+			@Param("ids") Collection<Integer> ids);
+
+	@Modifying
+	@Query("update ProdutoView v set v.categoriaNome = :nome where v.categoriaId = :idCategoria "
+			+ "and v.idProduto in :ids")
+	int updateCategoriaNome(@Param("idCategoria") Integer idCategoria, @Param("nome") String nome,
+			@Param("ids") Collection<Integer> ids);
+
+}
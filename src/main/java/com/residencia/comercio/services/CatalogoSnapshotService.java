@@ -0,0 +1,418 @@
+package com.residencia.comercio.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.residencia.comercio.configuration.CacheConfig;
+import com.residencia.comercio.dtos.ProdutoDTO;
+import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.entities.Produto;
+import com.residencia.comercio.repositories.CategoriaRepository;
+import com.residencia.comercio.repositories.ExclusaoRepository;
+import com.residencia.comercio.repositories.FornecedorRepository;
+import com.residencia.comercio.repositories.ProdutoRepository;
+import com.residencia.comercio.utils.CatalogoArquivo;
+import com.residencia.comercio.utils.MapaInt;
+import com.residencia.comercio.utils.Transacoes;
+
+@Service
+public class CatalogoSnapshotService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CatalogoSnapshotService.class);
+
+	private static final int LOTE_LEITURA = 1000;
+
+	private static final long ESPERA_NOVA_TENTATIVA = 1000;
+
+	@Autowired
+	ProdutoRepository produtoRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	CategoriaRepository categoriaRepository;
+
+	@Autowired
+	FornecedorRepository fornecedorRepository;
+
+	@Autowired
+	ExclusaoRepository exclusaoRepository;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Value("${catalogo.snapshot.habilitado:false}")
+	private boolean habilitado;
+
+	@Value("${catalogo.snapshot.arquivo:}")
+	private String arquivo;
+
+	@Value("${catalogo.snapshot.intervalo-gravacao:10m}")
+	private Duration intervaloGravacao;
+
+	@Value("${catalogo.snapshot.margem-reconciliacao:1m}")
+	private Duration margemReconciliacao;
+
+	private TransactionTemplate leitura;
+
+	private ScheduledExecutorService executor;
+
+	private volatile Snapshot atual;
+
+	private final Set<Integer> produtosPendentes = new HashSet<>();
+
+	private final Set<Integer> fornecedoresPendentes = new HashSet<>();
+
+	private final Set<Integer> categoriasPendentes = new HashSet<>();
+
+	private boolean aplicacaoAgendada;
+
+	@PostConstruct
+	public void iniciar() {
+		leitura = new TransactionTemplate(transactionManager);
+		leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		leitura.setReadOnly(true);
+		if (habilitado) {
+			executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "catalogo-snapshot");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		if (executor != null) {
+			executor.shutdownNow();
+			gravarArquivo();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void carregar() {
+		if (!habilitado) {
+			return;
+		}
+		executor.execute(() -> {
+			if (carregarArquivo()) {
+				executor.execute(() -> aquecerCaches(leitura.execute(status -> categoriaRepository.findAll()),
+						leitura.execute(status -> fornecedorRepository.findAll())));
+			} else {
+				recarregar();
+			}
+		});
+		if (caminhoArquivo() != null) {
+			long intervalo = intervaloGravacao.toMillis();
+			executor.scheduleWithFixedDelay(this::gravarArquivo, intervalo, intervalo, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	public void gravarArquivo() {
+		Snapshot snapshot = atual;
+		Path caminho = caminhoArquivo();
+		if (snapshot == null || caminho == null) {
+			return;
+		}
+		try {
+			List<ProdutoDTO> produtos = new ArrayList<>(snapshot.ids.length);
+			for (int id : snapshot.ids) {
+				produtos.add(snapshot.produtos.get(id));
+			}
+			CatalogoArquivo.gravar(caminho, produtos);
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Não foi possível gravar o arquivo do catálogo: {}", e.getMessage());
+		}
+	}
+
+	private boolean carregarArquivo() {
+		Path caminho = caminhoArquivo();
+		if (caminho == null || !Files.isRegularFile(caminho)) {
+			return false;
+		}
+		try {
+			CatalogoArquivo.Conteudo conteudo = CatalogoArquivo.ler(caminho);
+			Instant desde = Instant.ofEpochMilli(conteudo.getGeradoEm()).minus(margemReconciliacao);
+			Snapshot snapshot = reconciliar(new Snapshot(conteudo.getProdutos()), desde);
+			atual = snapshot;
+			logger.info("Snapshot do catálogo carregado do arquivo de {} com {} Produtos.",
+					new Date(conteudo.getGeradoEm()), snapshot.produtos.tamanho());
+			return true;
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Arquivo do catálogo ignorado: {}", e.getMessage());
+			return false;
+		}
+	}
+
+	private Snapshot reconciliar(Snapshot snapshot, Instant desde) {
+		Instant ate = Instant.now();
+		List<ProdutoDTO> alterados = leitura.execute(status -> produtoRepository.findProdutoDTOAlteradoDesde(desde));
+		List<Integer> removidos = leitura.execute(
+				status -> exclusaoRepository.findIdRegistroExcluido(SincronizacaoService.PRODUTO, desde, ate));
+		logger.info("Snapshot do catálogo reconciliado desde {}: {} Produtos alterados e {} excluídos.", desde,
+				alterados.size(), removidos.size());
+		return snapshot.com(alterados, removidos);
+	}
+
+	private List<ProdutoDTO> lerProdutos(Collection<Integer> ids) {
+		List<Integer> lista = new ArrayList<>(ids);
+		List<ProdutoDTO> produtos = new ArrayList<>(lista.size());
+		for (int inicio = 0; inicio < lista.size(); inicio += LOTE_LEITURA) {
+			List<Integer> lote = lista.subList(inicio, Math.min(lista.size(), inicio + LOTE_LEITURA));
+			produtos.addAll(leitura.execute(status -> produtoRepository.findProdutoDTOByIdIn(lote)));
+		}
+		return produtos;
+	}
+
+	private void recarregar() {
+		try {
+			List<ProdutoDTO> produtos = leitura.execute(status -> {
+				try (Stream<ProdutoDTO> stream = produtoRepository.streamAllProdutoDTO()) {
+					List<ProdutoDTO> lista = new ArrayList<>();
+					stream.forEach(lista::add);
+					return lista;
+				}
+			});
+			Snapshot snapshot = new Snapshot(produtos);
+			atual = snapshot;
+			logger.info("Snapshot do catálogo carregado com {} Produtos.", snapshot.produtos.tamanho());
+		} catch (RuntimeException e) {
+			logger.warn("Não foi possível carregar o snapshot do catálogo: {}", e.getMessage());
+		}
+	}
+
+	private void aquecerCaches(List<Categoria> categorias, List<Fornecedor> fornecedores) {
+		Cache cacheCategorias = cacheManager.getCache(CacheConfig.CATEGORIAS);
+		for (Categoria categoria : categorias) {
+			cacheCategorias.putIfAbsent(categoria.getIdCategoria(), categoria);
+		}
+		Cache cacheFornecedores = cacheManager.getCache(CacheConfig.FORNECEDORES);
+		for (Fornecedor fornecedor : fornecedores) {
+			cacheFornecedores.putIfAbsent(fornecedor.getIdFornecedor(), fornecedor);
+		}
+	}
+
+	private Path caminhoArquivo() {
+		return arquivo == null || arquivo.isBlank() ? null : Paths.get(arquivo);
+	}
+
+	public boolean ativo() {
+		return habilitado && atual != null;
+	}
+
+	public ProdutoDTO findProdutoDTOById(Integer id) {
+		return atual.produtos.get(id);
+	}
+
+	public List<ProdutoDTO> findProdutoDTOPage(Integer idProduto, int limite) {
+		Snapshot snapshot = atual;
+		int inicio = Arrays.binarySearch(snapshot.ids, idProduto);
+		inicio = inicio >= 0 ? inicio + 1 : -inicio - 1;
+		int fim = Math.min(snapshot.ids.length, inicio + limite);
+		List<ProdutoDTO> produtos = new ArrayList<>(Math.max(0, fim - inicio));
+		for (int i = inicio; i < fim; i++) {
+			produtos.add(snapshot.produtos.get(snapshot.ids[i]));
+		}
+		return produtos;
+	}
+
+	public void atualizar(Produto produto) {
+		atualizar(Collections.singletonList(produto));
+	}
+
+	public void atualizar(Collection<Produto> produtos) {
+		if (!habilitado) {
+			return;
+		}
+		Set<Integer> ids = new HashSet<>();
+		for (Produto produto : produtos) {
+			ids.add(produto.getIdProduto());
+		}
+		Transacoes.aposCommit(() -> marcar(produtosPendentes, ids));
+	}
+
+	public void remover(Integer idProduto) {
+		if (habilitado) {
+			Transacoes.aposCommit(() -> marcar(produtosPendentes, Collections.singleton(idProduto)));
+		}
+	}
+
+	public void renomearFornecedores(Collection<Fornecedor> fornecedores) {
+		if (!habilitado) {
+			return;
+		}
+		Set<Integer> ids = new HashSet<>();
+		for (Fornecedor fornecedor : fornecedores) {
+			ids.add(fornecedor.getIdFornecedor());
+		}
+		Transacoes.aposCommit(() -> marcar(fornecedoresPendentes, ids));
+	}
+
+	public void renomearCategorias(Collection<Categoria> categorias) {
+		if (!habilitado) {
+			return;
+		}
+		Set<Integer> ids = new HashSet<>();
+		for (Categoria categoria : categorias) {
+			ids.add(categoria.getIdCategoria());
+		}
+		Transacoes.aposCommit(() -> marcar(categoriasPendentes, ids));
+	}
+
+	private void marcar(Set<Integer> pendentes, Collection<Integer> ids) {
+		synchronized (this) {
+			pendentes.addAll(ids);
+			if (aplicacaoAgendada) {
+				return;
+			}
+			aplicacaoAgendada = true;
+		}
+		executor.execute(this::aplicarPendentes);
+	}
+
+	private void aplicarPendentes() {
+		Set<Integer> produtos;
+		Set<Integer> fornecedores;
+		Set<Integer> categorias;
+		synchronized (this) {
+			aplicacaoAgendada = false;
+			produtos = new HashSet<>(produtosPendentes);
+			fornecedores = new HashSet<>(fornecedoresPendentes);
+			categorias = new HashSet<>(categoriasPendentes);
+			produtosPendentes.clear();
+			fornecedoresPendentes.clear();
+			categoriasPendentes.clear();
+		}
+		Snapshot snapshot = atual;
+		if (snapshot == null) {
+			return;
+		}
+		if (!fornecedores.isEmpty() || !categorias.isEmpty()) {
+			snapshot.produtos.forEach((id, produto) -> {
+				if (fornecedores.contains(produto.getFornecedorId()) || categorias.contains(produto.getCategoriaId())) {
+					produtos.add(id);
+				}
+			});
+		}
+		try {
+			List<ProdutoDTO> alterados = lerProdutos(produtos);
+			Set<Integer> removidos = new HashSet<>(produtos);
+			for (ProdutoDTO produto : alterados) {
+				removidos.remove(produto.getIdProduto());
+			}
+			atual = snapshot.com(alterados, removidos);
+		} catch (RuntimeException e) {
+			logger.warn("Não foi possível atualizar o snapshot do catálogo, nova tentativa em {} ms: {}",
+					ESPERA_NOVA_TENTATIVA, e.getMessage());
+			synchronized (this) {
+				produtosPendentes.addAll(produtos);
+				if (aplicacaoAgendada) {
+					return;
+				}
+				aplicacaoAgendada = true;
+			}
+			executor.schedule(this::aplicarPendentes, ESPERA_NOVA_TENTATIVA, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static final class Snapshot {
+		private final MapaInt<ProdutoDTO> produtos;
+		private final int[] ids;
+
+		private Snapshot(Collection<ProdutoDTO> produtos) {
+			this.produtos = new MapaInt<>(produtos.size());
+			for (ProdutoDTO produto : produtos) {
+				this.produtos.put(produto.getIdProduto(), produto);
+			}
+			this.ids = this.produtos.chaves();
+			Arrays.sort(this.ids);
+		}
+
+		private Snapshot(MapaInt<ProdutoDTO> produtos, int[] ids) {
+			this.produtos = produtos;
+			this.ids = ids;
+		}
+
+		private Snapshot com(Collection<ProdutoDTO> alterados, Collection<Integer> removidos) {
+			if (alterados.isEmpty() && removidos.isEmpty()) {
+				return this;
+			}
+			MapaInt<ProdutoDTO> produtos = this.produtos.copia(this.produtos.tamanho() + alterados.size());
+			List<Integer> inseridos = new ArrayList<>();
+			for (ProdutoDTO produto : alterados) {
+				if (produtos.get(produto.getIdProduto()) == null) {
+					inseridos.add(produto.getIdProduto());
+				}
+				produtos.put(produto.getIdProduto(), produto);
+			}
+			boolean removeu = false;
+			for (Integer id : removidos) {
+				if (produtos.get(id) != null) {
+					produtos.remover(id);
+					removeu = true;
+				}
+			}
+			if (inseridos.isEmpty() && !removeu) {
+				return new Snapshot(produtos, ids);
+			}
+			return new Snapshot(produtos, mesclar(produtos, inseridos));
+		}
+
+		private int[] mesclar(MapaInt<ProdutoDTO> produtos, List<Integer> inseridos) {
+			int[] novos = new int[inseridos.size()];
+			for (int i = 0; i < novos.length; i++) {
+				novos[i] = inseridos.get(i);
+			}
+			Arrays.sort(novos);
+			int[] resultado = new int[produtos.tamanho()];
+			int i = 0;
+			int j = 0;
+			int k = 0;
+			while (i < ids.length || j < novos.length) {
+				if (j == novos.length || (i < ids.length && ids[i] < novos[j])) {
+					if (produtos.get(ids[i]) != null) {
+						resultado[k++] = ids[i];
+					}
+					i++;
+				} else {
+					resultado[k++] = novos[j++];
+				}
+			}
+			return resultado;
+		}
+	}
+}
@@ -1,56 +1,128 @@
 package com.residencia.comercio.services;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.residencia.comercio.configuration.CacheConfig;
+import com.residencia.comercio.dtos.AlteracoesDTO;
 import com.residencia.comercio.dtos.CategoriaDTO;
+import com.residencia.comercio.dtos.PaginaDTO;
+import com.residencia.comercio.dtos.ResultadoLoteDTO;
 import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.exceptions.LimiteLoteException;
 import com.residencia.comercio.exceptions.NoSuchElementFoundException;
 import com.residencia.comercio.repositories.CategoriaRepository;
+import com.residencia.comercio.utils.Paginacao;
 
 @Service
 public class CategoriaService {
 	@Autowired
 	CategoriaRepository categoriaRepository;
 
+	@Autowired
+	Paginacao paginacao;
+
+	@Autowired
+	CatalogoSnapshotService catalogoSnapshotService;
+
+	@Autowired
+	ProdutoViewService produtoViewService;
+
+	@Autowired
+	SincronizacaoService sincronizacaoService;
+
+	@Value("${lote.gravacao.tamanho-maximo:10000}")
+	private int tamanhoMaximoLote;
+
 	public List<Categoria> findAllCategoria() {
 		return categoriaRepository.findAll();
 	}
 
+	public PaginaDTO<Categoria> findPageCategoria(String cursor, Integer tamanho) {
+		int tamanhoPagina = paginacao.tamanho(tamanho);
+		List<Categoria> categorias = categoriaRepository.findByIdCategoriaGreaterThanOrderByIdCategoriaAsc(
+				paginacao.cursorParaId(cursor), paginacao.pageable(tamanhoPagina));
+		return paginacao.montarPagina(categorias, tamanhoPagina, Categoria::getIdCategoria);
+	}
+
+	public AlteracoesDTO<Categoria> findAlteracoesCategoria(String since, String cursor, Integer tamanho) {
+		return sincronizacaoService.alteracoes(SincronizacaoService.CATEGORIA, since, cursor, tamanho,
+				categoriaRepository::findAlteracoes, Categoria::getAtualizadoEm, Categoria::getIdCategoria);
+	}
+
+	@Cacheable(cacheNames = CacheConfig.CATEGORIAS, unless = "#result == null")
 	public Categoria findCategoriaById(Integer id) {
-		return categoriaRepository.findById(id).isPresent() ? categoriaRepository.findById(id).get() : null;
+		return categoriaRepository.findById(id).orElse(null);
+	}
+
+	public ResultadoLoteDTO<Categoria> findAllCategoriaById(List<Integer> ids) {
+		Set<Integer> idsCategoria = paginacao.idsDoLote(ids);
+		return paginacao.montarLote(idsCategoria, categoriaRepository.findAllById(idsCategoria),
+				Categoria::getIdCategoria);
 	}
 
 	public CategoriaDTO findCategoriaDTOById(Integer id) {
-		if (categoriaRepository.findById(id).isPresent() == true) {
-			CategoriaDTO categoriaDTO = categoriaToDTO(categoriaRepository.findById(id).get());
-			return categoriaDTO;
-		}
-		else {
-			throw new NoSuchElementFoundException("Categoria de ID " + id + " não encontrada.");
-		}
+		Categoria categoria = categoriaRepository.findById(id)
+				.orElseThrow(() -> new NoSuchElementFoundException("Categoria de ID " + id + " não encontrada."));
+		return categoriaToDTO(categoria);
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.CATEGORIAS, key = "#categoria.idCategoria", condition = "#categoria.idCategoria != null")
 	public Categoria saveCategoria(Categoria categoria) {
-		return categoriaRepository.save(categoria);
+		Categoria categoriaSalva = categoriaRepository.save(categoria);
+		catalogoSnapshotService.renomearCategorias(Collections.singletonList(categoriaSalva));
+		produtoViewService.propagarCategorias(Collections.singletonList(categoriaSalva));
+		return categoriaSalva;
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.CATEGORIAS, key = "#categoriaDTO.idCategoria", condition = "#categoriaDTO.idCategoria != null")
 	public Categoria saveCategoriaDTO(CategoriaDTO categoriaDTO) {
-		return categoriaRepository.save(categoriaDTOtoEntity(categoriaDTO));
+		Categoria categoriaSalva = categoriaRepository.save(categoriaDTOtoEntity(categoriaDTO));
+		catalogoSnapshotService.renomearCategorias(Collections.singletonList(categoriaSalva));
+		produtoViewService.propagarCategorias(Collections.singletonList(categoriaSalva));
+		return categoriaSalva;
+	}
+
+	@CacheEvict(cacheNames = CacheConfig.CATEGORIAS, allEntries = true)
+	@Transactional
+	public List<Categoria> saveAllCategoria(List<Categoria> categorias) {
+		if (categorias.size() > tamanhoMaximoLote) {
+			throw new LimiteLoteException("O lote deve conter no máximo " + tamanhoMaximoLote + " Categorias.");
+		}
+		List<Categoria> categoriasSalvas = categoriaRepository.saveAll(categorias);
+		catalogoSnapshotService.renomearCategorias(categoriasSalvas);
+		produtoViewService.propagarCategorias(categoriasSalvas);
+		return categoriasSalvas;
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.CATEGORIAS, key = "#categoria.idCategoria", condition = "#categoria.idCategoria != null")
 	public Categoria updateCategoria(Categoria categoria) {
-		return categoriaRepository.save(categoria);
+		Categoria categoriaSalva = categoriaRepository.save(categoria);
+		catalogoSnapshotService.renomearCategorias(Collections.singletonList(categoriaSalva));
+		produtoViewService.propagarCategorias(Collections.singletonList(categoriaSalva));
+		return categoriaSalva;
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.CATEGORIAS, key = "#id")
+	@Transactional
 	public void deleteCategoria(Integer id) {
 		categoriaRepository.delete(categoriaRepository.findById(id).get());
+		sincronizacaoService.registrarExclusao(SincronizacaoService.CATEGORIA, id);
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.CATEGORIAS, key = "#categoria.idCategoria", condition = "#categoria.idCategoria != null")
+	@Transactional
 	public void deleteCategoria(Categoria categoria) {
 		categoriaRepository.delete(categoria);
+		sincronizacaoService.registrarExclusao(SincronizacaoService.CATEGORIA, categoria.getIdCategoria());
 	}
 
 	private Categoria categoriaDTOtoEntity(CategoriaDTO categoriaDTO) {
@@ -0,0 +1,328 @@
+package com.residencia.comercio.services;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residencia.comercio.dtos.CacheEstatisticasDTO;
+import com.residencia.comercio.dtos.CnpjDTO;
+import com.residencia.comercio.utils.CacheLru;
+
+@Service
+public class CnpjCacheService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CnpjCacheService.class);
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Value("${cache.cnpj.tamanho-maximo:10000}")
+	private int tamanhoMaximo;
+
+	@Value("${cache.cnpj.ttl:24h}")
+	private Duration ttl;
+
+	@Value("${cache.cnpj.ttl-negativo:10m}")
+	private Duration ttlNegativo;
+
+	@Value("${cache.cnpj.arquivo:}")
+	private String arquivo;
+
+	@Value("${cache.cnpj.disco-tamanho-maximo:100000}")
+	private int tamanhoMaximoDisco;
+
+	private CacheLru<Long, Resultado> memoria;
+
+	private final Map<Long, EntradaDisco> indiceDisco = new ConcurrentHashMap<>();
+
+	private final AtomicLong acertosDisco = new AtomicLong();
+
+	private final AtomicLong falhasDisco = new AtomicLong();
+
+	private volatile FileChannel canalDisco;
+
+	private Path caminhoDisco;
+
+	private int linhasDisco;
+
+	@PostConstruct
+	public void iniciar() {
+		memoria = new CacheLru<>(tamanhoMaximo);
+		if (arquivo == null || arquivo.isBlank()) {
+			return;
+		}
+		try {
+			caminhoDisco = Paths.get(arquivo).toAbsolutePath();
+			Files.createDirectories(caminhoDisco.getParent());
+			synchronized (this) {
+				abrirDisco();
+				limitarDisco();
+			}
+		} catch (IOException | InvalidPathException e) {
+			logger.warn("Cache de CNPJ em disco desabilitado: {}", e.getMessage());
+			canalDisco = null;
+		}
+	}
+
+	@PreDestroy
+	public void encerrar() throws IOException {
+		if (canalDisco != null) {
+			canalDisco.close();
+		}
+	}
+
+	public Resultado get(long cnpj) {
+		Resultado resultado = memoria.get(cnpj);
+		if (resultado != null) {
+			return resultado;
+		}
+		FileChannel canal = canalDisco;
+		EntradaDisco entrada = canal == null ? null : indiceDisco.get(cnpj);
+		if (entrada == null || entrada.expiraEm < System.currentTimeMillis()) {
+			if (entrada != null) {
+				indiceDisco.remove(cnpj, entrada);
+			}
+			falhasDisco.incrementAndGet();
+			return Resultado.AUSENTE;
+		}
+		try {
+			resultado = lerDisco(canal, cnpj, entrada);
+		} catch (IOException e) {
+			logger.warn("Falha ao ler CNPJ {} do cache em disco: {}", cnpj, e.getMessage());
+			falhasDisco.incrementAndGet();
+			return Resultado.AUSENTE;
+		}
+		acertosDisco.incrementAndGet();
+		memoria.put(cnpj, resultado, entrada.expiraEm - System.currentTimeMillis());
+		return resultado;
+	}
+
+	public void put(long cnpj, Resultado resultado) {
+		if (!resultado.isEmCache()) {
+			throw new IllegalArgumentException("Resultado ausente não pode ser gravado no cache.");
+		}
+		long ttlMillis = resultado.isEncontrado() ? ttl.toMillis() : ttlNegativo.toMillis();
+		memoria.put(cnpj, resultado, ttlMillis);
+		if (canalDisco == null) {
+			return;
+		}
+		try {
+			String json = resultado.isEncontrado() ? objectMapper.writeValueAsString(resultado.getCnpjDTO()) : "";
+			escreverDisco(cnpj, System.currentTimeMillis() + ttlMillis, json);
+		} catch (IOException e) {
+			logger.warn("Falha ao gravar CNPJ {} no cache em disco: {}", cnpj, e.getMessage());
+		}
+	}
+
+	public List<CacheEstatisticasDTO> estatisticas() {
+		List<CacheEstatisticasDTO> estatisticas = new ArrayList<>();
+		estatisticas.add(new CacheEstatisticasDTO("cnpj-memoria", memoria.size(), memoria.getAcertos(),
+				memoria.getFalhas()));
+		estatisticas.add(new CacheEstatisticasDTO("cnpj-disco", indiceDisco.size(), acertosDisco.get(),
+				falhasDisco.get()));
+		return estatisticas;
+	}
+
+	private Resultado lerDisco(FileChannel canal, long cnpj, EntradaDisco entrada) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(entrada.tamanho);
+		while (buffer.hasRemaining()) {
+			if (canal.read(buffer, entrada.offset + buffer.position()) < 0) {
+				throw new IOException("Fim inesperado do arquivo de cache.");
+			}
+		}
+		String linha = new String(buffer.array(), StandardCharsets.UTF_8);
+		if (!linha.startsWith(cnpj + ";")) {
+			throw new IOException("Entrada deslocada pela compactação do arquivo de cache.");
+		}
+		String json = linha.substring(linha.indexOf(';', linha.indexOf(';') + 1) + 1);
+		return json.isEmpty() ? Resultado.NAO_ENCONTRADO : Resultado.encontrado(objectMapper.readValue(json, CnpjDTO.class));
+	}
+
+	private synchronized void escreverDisco(long cnpj, long expiraEm, String json) throws IOException {
+		byte[] linha = (cnpj + ";" + expiraEm + ";" + json + "\n").getBytes(StandardCharsets.UTF_8);
+		long offset = canalDisco.size();
+		ByteBuffer buffer = ByteBuffer.wrap(linha);
+		while (buffer.hasRemaining()) {
+			canalDisco.write(buffer, offset + buffer.position());
+		}
+		indiceDisco.put(cnpj, new EntradaDisco(offset, linha.length - 1, expiraEm));
+		linhasDisco++;
+		limitarDisco();
+	}
+
+	private void limitarDisco() throws IOException {
+		if (indiceDisco.size() > tamanhoMaximoDisco) {
+			removerExcedentesDisco();
+		}
+		if (linhasDisco > 2 * indiceDisco.size() + 1000) {
+			compactarDisco();
+		}
+	}
+
+	private void removerExcedentesDisco() {
+		long agora = System.currentTimeMillis();
+		indiceDisco.values().removeIf(entrada -> entrada.expiraEm <= agora);
+		int excedentes = indiceDisco.size() - tamanhoMaximoDisco * 9 / 10;
+		if (excedentes <= 0) {
+			return;
+		}
+		List<Map.Entry<Long, EntradaDisco>> entradas = new ArrayList<>(indiceDisco.entrySet());
+		entradas.sort(Comparator.comparingLong(entrada -> entrada.getValue().expiraEm));
+		for (int i = 0; i < excedentes; i++) {
+			indiceDisco.remove(entradas.get(i).getKey(), entradas.get(i).getValue());
+		}
+	}
+
+	private void abrirDisco() throws IOException {
+		canalDisco = FileChannel.open(caminhoDisco, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		indiceDisco.clear();
+		long agora = System.currentTimeMillis();
+		long offset = 0;
+		int linhas = 0;
+		ByteArrayOutputStream linha = new ByteArrayOutputStream(512);
+		InputStream entrada = new BufferedInputStream(Channels.newInputStream(canalDisco.position(0)), 64 * 1024);
+		int b;
+		while ((b = entrada.read()) != -1) {
+			if (b != '\n') {
+				linha.write(b);
+				continue;
+			}
+			String texto = linha.toString(StandardCharsets.UTF_8);
+			int separador = texto.indexOf(';');
+			int separadorJson = texto.indexOf(';', separador + 1);
+			boolean valida = separador > 0 && separadorJson > separador;
+			long cnpj = 0;
+			long expiraEm = 0;
+			if (valida) {
+				try {
+					cnpj = Long.parseLong(texto.substring(0, separador));
+					expiraEm = Long.parseLong(texto.substring(separador + 1, separadorJson));
+				} catch (NumberFormatException e) {
+					valida = false;
+				}
+			}
+			if (!valida) {
+				logger.warn("Linha corrompida no cache de CNPJ em disco (offset {}); o restante do arquivo foi descartado.",
+						offset);
+				break;
+			}
+			if (expiraEm > agora) {
+				indiceDisco.put(cnpj, new EntradaDisco(offset, linha.size(), expiraEm));
+			} else {
+				indiceDisco.remove(cnpj);
+			}
+			offset += linha.size() + 1;
+			linhas++;
+			linha.reset();
+		}
+		if (offset < canalDisco.size()) {
+			canalDisco.truncate(offset);
+		}
+		linhasDisco = linhas;
+	}
+
+	private void compactarDisco() throws IOException {
+		Path temporario = caminhoDisco.resolveSibling(caminhoDisco.getFileName() + ".tmp");
+		long agora = System.currentTimeMillis();
+		Map<Long, EntradaDisco> compactado = new HashMap<>(indiceDisco.size());
+		try (FileChannel destino = FileChannel.open(temporario, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			long offset = 0;
+			for (Map.Entry<Long, EntradaDisco> registro : indiceDisco.entrySet()) {
+				EntradaDisco entrada = registro.getValue();
+				if (entrada.expiraEm <= agora) {
+					continue;
+				}
+				long tamanho = entrada.tamanho + 1L;
+				long copiado = 0;
+				while (copiado < tamanho) {
+					copiado += canalDisco.transferTo(entrada.offset + copiado, tamanho - copiado, destino);
+				}
+				compactado.put(registro.getKey(), new EntradaDisco(offset, entrada.tamanho, entrada.expiraEm));
+				offset += tamanho;
+			}
+		}
+		Files.move(temporario, caminhoDisco, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		FileChannel anterior = canalDisco;
+		canalDisco = FileChannel.open(caminhoDisco, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		anterior.close();
+		indiceDisco.keySet().retainAll(compactado.keySet());
+		indiceDisco.putAll(compactado);
+		logger.info("Cache de CNPJ em disco compactado de {} para {} linhas.", linhasDisco, compactado.size());
+		linhasDisco = compactado.size();
+	}
+
+	public static final class Resultado {
+		public static final Resultado AUSENTE = new Resultado(false, null);
+		public static final Resultado NAO_ENCONTRADO = new Resultado(true, null);
+
+		private final boolean emCache;
+		private final CnpjDTO cnpjDTO;
+
+		private Resultado(boolean emCache, CnpjDTO cnpjDTO) {
+			this.emCache = emCache;
+			this.cnpjDTO = cnpjDTO;
+		}
+
+		public static Resultado encontrado(CnpjDTO cnpjDTO) {
+			if (cnpjDTO == null) {
+				throw new IllegalArgumentException("CnpjDTO não pode ser nulo.");
+			}
+			return new Resultado(true, cnpjDTO);
+		}
+
+		public boolean isEmCache() {
+			return emCache;
+		}
+
+		public boolean isEncontrado() {
+			return cnpjDTO != null;
+		}
+
+		public CnpjDTO getCnpjDTO() {
+			return cnpjDTO;
+		}
+	}
+
+	private static class EntradaDisco {
+		private final long offset;
+		private final int tamanho;
+		private final long expiraEm;
+
+		private EntradaDisco(long offset, int tamanho, long expiraEm) {
+			this.offset = offset;
+			this.tamanho = tamanho;
+			this.expiraEm = expiraEm;
+		}
+	}
+}
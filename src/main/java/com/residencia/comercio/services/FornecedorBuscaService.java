@@ -0,0 +1,89 @@
+package com.residencia.comercio.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.residencia.comercio.dtos.SugestaoDTO;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.repositories.FornecedorRepository;
+import com.residencia.comercio.utils.IndicePrefixo;
+import com.residencia.comercio.utils.Paginacao;
+import com.residencia.comercio.utils.Transacoes;
+
+@Service
+public class FornecedorBuscaService {
+
+	private static final Logger logger = LoggerFactory.getLogger(FornecedorBuscaService.class);
+
+	@Autowired
+	FornecedorRepository fornecedorRepository;
+
+	@Autowired
+	Paginacao paginacao;
+
+	private final IndicePrefixo sugestoes = new IndicePrefixo();
+
+	private List<Runnable> pendentes;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void construirIndice() {
+		synchronized (this) {
+			pendentes = new ArrayList<>();
+		}
+		try {
+			Map<Integer, String> nomes = new HashMap<>();
+			for (SugestaoDTO sugestao : fornecedorRepository.findAllSugestao()) {
+				nomes.put(sugestao.getId(), sugestao.getNome());
+			}
+			sugestoes.atualizar(nomes, Collections.emptyList());
+			logger.info("Índice de sugestões de Fornecedores construído com {} Fornecedores.", sugestoes.tamanho());
+		} catch (RuntimeException e) {
+			logger.warn("Não foi possível construir o índice de sugestões de Fornecedores: {}", e.getMessage());
+		} finally {
+			synchronized (this) {
+				pendentes.forEach(Runnable::run);
+				pendentes = null;
+			}
+		}
+	}
+
+	public List<SugestaoDTO> sugerir(String prefixo, Integer tamanho) {
+		return sugestoes.sugerir(prefixo, paginacao.tamanho(tamanho));
+	}
+
+	public void indexar(Fornecedor fornecedor) {
+		indexar(Collections.singletonList(fornecedor));
+	}
+
+	public void indexar(Collection<Fornecedor> fornecedores) {
+		Map<Integer, String> nomes = new HashMap<>();
+		for (Fornecedor fornecedor : fornecedores) {
+			nomes.put(fornecedor.getIdFornecedor(), fornecedor.getNomeFantasia());
+		}
+		Transacoes.aposCommit(() -> aplicar(() -> sugestoes.atualizar(nomes, Collections.emptyList())));
+	}
+
+	public void remover(Integer idFornecedor) {
+		Transacoes.aposCommit(() -> aplicar(
+				() -> sugestoes.atualizar(Collections.emptyMap(), Collections.singletonList(idFornecedor))));
+	}
+
+	private synchronized void aplicar(Runnable alteracao) {
+		if (pendentes != null) {
+			pendentes.add(alteracao);
+		} else {
+			alteracao.run();
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package com.residencia.comercio.services;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.residencia.comercio.dtos.LoteStatusDTO;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.exceptions.LimiteLoteException;
+import com.residencia.comercio.exceptions.NoSuchElementFoundException;
+import com.residencia.comercio.repositories.FornecedorRepository;
+import com.residencia.comercio.utils.CnpjCodec;
+import com.residencia.comercio.utils.TokenBucket;
+
+@Service
+public class FornecedorLoteService {
+	@Autowired
+	FornecedorService fornecedorService;
+
+	@Autowired
+	FornecedorRepository fornecedorRepository;
+
+	@Autowired
+	FornecedorBuscaService fornecedorBuscaService;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Value("${lote.cnpj.tamanho-maximo:10000}")
+	private int tamanhoMaximo;
+
+	@Value("${lote.cnpj.trabalhadores:4}")
+	private int trabalhadores;
+
+	@Value("${lote.cnpj.tamanho-transacao:50}")
+	private int tamanhoTransacao;
+
+	@Value("${lote.cnpj.limite-por-minuto:3}")
+	private int limitePorMinuto;
+
+	@Value("${lote.cnpj.rajada:3}")
+	private int rajada;
+
+	@Value("${lote.cnpj.retencao-minutos:60}")
+	private int retencaoMinutos;
+
+	@Value("${lote.consulta.tamanho-maximo:500}")
+	private int tamanhoConsulta;
+
+	private ExecutorService executor;
+
+	private TokenBucket limiteReceita;
+
+	private final Map<String, Lote> lotes = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void iniciar() {
+		AtomicInteger contador = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(trabalhadores, runnable -> {
+			Thread thread = new Thread(runnable, "lote-cnpj-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		limiteReceita = new TokenBucket(rajada, limitePorMinuto);
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	public LoteStatusDTO iniciarLote(List<String> cnpjs) {
+		if (cnpjs == null || cnpjs.isEmpty()) {
+			throw new LimiteLoteException("O lote deve conter ao menos um CNPJ.");
+		}
+		if (cnpjs.size() > tamanhoMaximo) {
+			throw new LimiteLoteException("O lote deve conter no máximo " + tamanhoMaximo + " CNPJs.");
+		}
+		removerLotesExpirados();
+
+		Lote lote = new Lote(UUID.randomUUID().toString(), cnpjs.size());
+		Set<String> formatados = new LinkedHashSet<>();
+		for (String cnpj : cnpjs) {
+			long chave = CnpjCodec.parse(cnpj);
+			if (chave == CnpjCodec.INVALIDO) {
+				lote.registrarFalha(String.valueOf(cnpj), "CNPJ inválido.");
+			} else if (!formatados.add(CnpjCodec.format(chave))) {
+				lote.registrarIgnorado();
+			}
+		}
+		List<String> novos = new ArrayList<>(formatados);
+		for (int inicio = 0; inicio < novos.size(); inicio += tamanhoConsulta) {
+			List<String> consulta = novos.subList(inicio, Math.min(novos.size(), inicio + tamanhoConsulta));
+			for (Fornecedor existente : fornecedorRepository.findByCnpjIn(consulta)) {
+				formatados.remove(existente.getCnpj());
+				lote.registrarFalha(existente.getCnpj(), "Já existe um Fornecedor com este CNPJ.");
+			}
+		}
+		for (String formatado : formatados) {
+			lote.pendentes.add(CnpjCodec.digits(CnpjCodec.parse(formatado)));
+		}
+		lotes.put(lote.id, lote);
+
+		int quantidade = Math.max(1, Math.min(trabalhadores, lote.pendentes.size()));
+		lote.trabalhadoresAtivos.set(quantidade);
+		for (int i = 0; i < quantidade; i++) {
+			executor.execute(() -> processar(lote));
+		}
+		return lote.toDTO();
+	}
+
+	public LoteStatusDTO findLoteById(String id) {
+		Lote lote = lotes.get(id);
+		if (lote == null) {
+			throw new NoSuchElementFoundException("Lote de ID " + id + " não encontrado.");
+		}
+		return lote.toDTO();
+	}
+
+	private void processar(Lote lote) {
+		List<Fornecedor> fornecedores = new ArrayList<>(tamanhoTransacao);
+		List<String> cnpjs = new ArrayList<>(tamanhoTransacao);
+		try {
+			String cnpj;
+			while (!Thread.currentThread().isInterrupted() && (cnpj = lote.pendentes.poll()) != null) {
+				try {
+					fornecedores.add(fornecedorService.CnpjDTOtoFornecedor(
+							fornecedorService.getCnpjDTOFromExternal(cnpj, limiteReceita)));
+					cnpjs.add(cnpj);
+				} catch (RuntimeException e) {
+					lote.registrarFalha(cnpj, e.getMessage());
+				}
+				if (fornecedores.size() >= tamanhoTransacao) {
+					gravar(lote, fornecedores, cnpjs);
+				}
+			}
+			gravar(lote, fornecedores, cnpjs);
+			String restante;
+			while ((restante = lote.pendentes.poll()) != null) {
+				lote.registrarFalha(restante, "Processamento interrompido.");
+			}
+		} finally {
+			if (lote.trabalhadoresAtivos.decrementAndGet() == 0) {
+				lote.fim = new Date();
+				lote.status = lote.falhas.get() == 0 ? "CONCLUIDO" : "CONCLUIDO_COM_FALHAS";
+			}
+		}
+	}
+
+	private void gravar(Lote lote, List<Fornecedor> fornecedores, List<String> cnpjs) {
+		if (fornecedores.isEmpty()) {
+			return;
+		}
+		try {
+			transactionTemplate.executeWithoutResult(
+					status -> fornecedorBuscaService.indexar(fornecedorRepository.saveAll(fornecedores)));
+			lote.sucessos.addAndGet(fornecedores.size());
+			lote.processados.addAndGet(fornecedores.size());
+		} catch (RuntimeException e) {
+			for (int i = 0; i < fornecedores.size(); i++) {
+				gravar(lote, fornecedores.get(i), cnpjs.get(i));
+			}
+		}
+		fornecedores.clear();
+		cnpjs.clear();
+	}
+
+	private void gravar(Lote lote, Fornecedor fornecedor, String cnpj) {
+		fornecedor.setIdFornecedor(null);
+		try {
+			transactionTemplate.executeWithoutResult(
+					status -> fornecedorBuscaService.indexar(fornecedorRepository.save(fornecedor)));
+			lote.sucessos.incrementAndGet();
+			lote.processados.incrementAndGet();
+		} catch (DataIntegrityViolationException e) {
+			lote.registrarFalha(cnpj, "Já existe um Fornecedor com este CNPJ.");
+		} catch (RuntimeException e) {
+			lote.registrarFalha(cnpj, "Falha ao gravar: " + e.getMessage());
+		}
+	}
+
+	private void removerLotesExpirados() {
+		long limite = System.currentTimeMillis() - retencaoMinutos * 60_000L;
+		lotes.values().removeIf(lote -> lote.fim != null && lote.fim.getTime() < limite);
+	}
+
+	private static class Lote {
+		private final String id;
+		private final int total;
+		private final Date inicio = new Date();
+		private volatile Date fim;
+		private volatile String status = "PROCESSANDO";
+		private final ConcurrentLinkedQueue<String> pendentes = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger trabalhadoresAtivos = new AtomicInteger();
+		private final AtomicInteger processados = new AtomicInteger();
+		private final AtomicInteger sucessos = new AtomicInteger();
+		private final AtomicInteger falhas = new AtomicInteger();
+		private final Map<String, String> erros = new ConcurrentHashMap<>();
+
+		private Lote(String id, int total) {
+			this.id = id;
+			this.total = total;
+		}
+
+		private void registrarIgnorado() {
+			processados.incrementAndGet();
+		}
+
+		private void registrarFalha(String cnpj, String mensagem) {
+			erros.put(cnpj, mensagem == null ? "Erro desconhecido." : mensagem);
+			falhas.incrementAndGet();
+			processados.incrementAndGet();
+		}
+
+		private LoteStatusDTO toDTO() {
+			LoteStatusDTO loteStatusDTO = new LoteStatusDTO();
+			long duracao = (fim == null ? System.currentTimeMillis() : fim.getTime()) - inicio.getTime();
+
+			loteStatusDTO.setIdLote(id);
+			loteStatusDTO.setStatus(status);
+			loteStatusDTO.setTotal(total);
+			loteStatusDTO.setProcessados(processados.get());
+			loteStatusDTO.setSucessos(sucessos.get());
+			loteStatusDTO.setFalhas(falhas.get());
+			loteStatusDTO.setThroughputPorSegundo(duracao == 0 ? 0.0 : processados.get() * 1000.0 / duracao);
+			loteStatusDTO.setInicio(inicio);
+			loteStatusDTO.setFim(fim);
+			loteStatusDTO.setErros(new ConcurrentHashMap<>(erros));
+
+			return loteStatusDTO;
+		}
+	}
+}
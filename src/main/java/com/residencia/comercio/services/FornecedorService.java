@@ -2,59 +2,285 @@ package com.residencia.comercio.services;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import com.residencia.comercio.configuration.CacheConfig;
+import com.residencia.comercio.dtos.AlteracoesDTO;
+import com.residencia.comercio.dtos.CacheEstatisticasDTO;
 import com.residencia.comercio.dtos.CepDTO;
 import com.residencia.comercio.dtos.CnpjDTO;
+import com.residencia.comercio.dtos.CnpjValidacaoDTO;
 import com.residencia.comercio.dtos.FornecedorDTO;
+import com.residencia.comercio.dtos.PaginaDTO;
+import com.residencia.comercio.dtos.ResultadoLoteDTO;
 import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.exceptions.CNPJException;
+import com.residencia.comercio.exceptions.LimiteLoteException;
+import com.residencia.comercio.exceptions.NumberFormatException;
 import com.residencia.comercio.repositories.FornecedorRepository;
+import com.residencia.comercio.utils.CacheLru;
+import com.residencia.comercio.utils.CnpjCodec;
+import com.residencia.comercio.utils.Paginacao;
+import com.residencia.comercio.utils.TokenBucket;
 
 @Service
 public class FornecedorService {
 	@Autowired
 	FornecedorRepository fornecedorRepository;
 
+	@Autowired
+	Paginacao paginacao;
+
+	@Value("${lote.gravacao.tamanho-maximo:10000}")
+	private int tamanhoMaximoLote;
+
+	@Value("${lote.cnpj.validacao-tamanho-maximo:100000}")
+	private int tamanhoMaximoValidacao;
+
+	@Value("${lote.consulta.tamanho-maximo:500}")
+	private int tamanhoMaximoConsulta;
+
+	@Value("${cache.chave-natural.tamanho-maximo:10000}")
+	private int tamanhoMaximoCnpjId;
+
+	@Value("${cache.chave-natural.ttl:1h}")
+	private Duration ttlCnpjId;
+
+	private CacheLru<Long, Integer> cnpjIdCache;
+
+	@Autowired
+	CnpjCacheService cnpjCacheService;
+
+	@Autowired
+	FornecedorBuscaService fornecedorBuscaService;
+
+	@Autowired
+	CatalogoSnapshotService catalogoSnapshotService;
+
+	@Autowired
+	ProdutoViewService produtoViewService;
+
+	@Autowired
+	SincronizacaoService sincronizacaoService;
+
+	@Autowired
+	@Qualifier("consultaExternaRestTemplate")
+	RestTemplate consultaExternaRestTemplate;
+
+	@Value("${consulta-externa.receitaws.url}")
+	private String receitawsUrl;
+
+	@Value("${consulta-externa.viacep.url}")
+	private String viacepUrl;
+
+	@Value("${cache.cep.tamanho-maximo:5000}")
+	private int tamanhoMaximoCep;
+
+	@Value("${cache.cep.ttl:24h}")
+	private Duration ttlCep;
+
+	private CacheLru<String, CepDTO> cepCache;
+
+	private final ConcurrentHashMap<String, CompletableFuture<CepDTO>> cepsEmAndamento = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void iniciarCacheCep() {
+		cepCache = new CacheLru<>(tamanhoMaximoCep);
+	}
+
+	@PostConstruct
+	public void iniciarCacheCnpjId() {
+		cnpjIdCache = new CacheLru<>(tamanhoMaximoCnpjId);
+	}
+
 	public List<Fornecedor> findAllFornecedor() {
 		return fornecedorRepository.findAll();
 	}
 
+	public PaginaDTO<Fornecedor> findPageFornecedor(String cursor, Integer tamanho) {
+		int tamanhoPagina = paginacao.tamanho(tamanho);
+		List<Fornecedor> fornecedores = fornecedorRepository.findByIdFornecedorGreaterThanOrderByIdFornecedorAsc(
+				paginacao.cursorParaId(cursor), paginacao.pageable(tamanhoPagina));
+		return paginacao.montarPagina(fornecedores, tamanhoPagina, Fornecedor::getIdFornecedor);
+	}
+
+	public AlteracoesDTO<Fornecedor> findAlteracoesFornecedor(String since, String cursor, Integer tamanho) {
+		return sincronizacaoService.alteracoes(SincronizacaoService.FORNECEDOR, since, cursor, tamanho,
+				fornecedorRepository::findAlteracoes, Fornecedor::getAtualizadoEm, Fornecedor::getIdFornecedor);
+	}
+
+	@Cacheable(cacheNames = CacheConfig.FORNECEDORES, unless = "#result == null")
 	public Fornecedor findFornecedorById(Integer id) {
-		return fornecedorRepository.findById(id).isPresent() ? fornecedorRepository.findById(id).get() : null;
+		return fornecedorRepository.findById(id).orElse(null);
+	}
+
+	public ResultadoLoteDTO<Fornecedor> findAllFornecedorById(List<Integer> ids) {
+		Set<Integer> idsFornecedor = paginacao.idsDoLote(ids);
+		return paginacao.montarLote(idsFornecedor, fornecedorRepository.findAllById(idsFornecedor),
+				Fornecedor::getIdFornecedor);
+	}
+
+	public Fornecedor findFornecedorByCnpj(String cnpj) {
+		long chave = chaveCnpj(cnpj);
+		String formatado = CnpjCodec.format(chave);
+		Integer id = cnpjIdCache.get(chave);
+		if (id != null) {
+			Fornecedor fornecedor = fornecedorRepository.findById(id).orElse(null);
+			if (fornecedor != null && formatado.equals(fornecedor.getCnpj())) {
+				return fornecedor;
+			}
+			cnpjIdCache.remove(chave);
+		}
+
+		Fornecedor fornecedor = fornecedorRepository.findByCnpj(formatado).orElse(null);
+		if (fornecedor != null) {
+			cnpjIdCache.put(chave, fornecedor.getIdFornecedor(), ttlCnpjId.toMillis());
+		}
+		return fornecedor;
+	}
+
+	public List<Fornecedor> findAllFornecedorByCnpj(List<String> cnpjs) {
+		if (cnpjs.size() > tamanhoMaximoConsulta) {
+			throw new LimiteLoteException("A consulta deve conter no máximo " + tamanhoMaximoConsulta + " CNPJs.");
+		}
+
+		List<String> formatados = new ArrayList<>(cnpjs.size());
+		for (String cnpj : cnpjs) {
+			formatados.add(CnpjCodec.format(chaveCnpj(cnpj)));
+		}
+		Map<String, Fornecedor> fornecedores = new HashMap<>();
+		for (Fornecedor fornecedor : fornecedorRepository.findByCnpjIn(new HashSet<>(formatados))) {
+			fornecedores.put(fornecedor.getCnpj(), fornecedor);
+			cnpjIdCache.put(CnpjCodec.parse(fornecedor.getCnpj()), fornecedor.getIdFornecedor(), ttlCnpjId.toMillis());
+		}
+		List<Fornecedor> resultado = new ArrayList<>(fornecedores.size());
+		for (String formatado : formatados) {
+			Fornecedor fornecedor = fornecedores.remove(formatado);
+			if (fornecedor != null) {
+				resultado.add(fornecedor);
+			}
+		}
+		return resultado;
+	}
+
+	public CacheEstatisticasDTO estatisticasCnpjId() {
+		return new CacheEstatisticasDTO("cnpj-id", cnpjIdCache.size(), cnpjIdCache.getAcertos(),
+				cnpjIdCache.getFalhas());
 	}
 
 	public FornecedorDTO findFornecedorDTOById(Integer id) {
-		return fornecedorRepository.findById(id).isPresent() ? fornecedorToDTO(fornecedorRepository.findById(id).get()) : null;		
+		return fornecedorRepository.findFornecedorDTOById(id).orElse(null);
 	}
 
+	public PaginaDTO<FornecedorDTO> findPageFornecedorDTO(String cursor, Integer tamanho) {
+		int tamanhoPagina = paginacao.tamanho(tamanho);
+		List<FornecedorDTO> fornecedores = fornecedorRepository.findFornecedorDTOPage(paginacao.cursorParaId(cursor),
+				paginacao.pageable(tamanhoPagina));
+		return paginacao.montarPagina(fornecedores, tamanhoPagina, FornecedorDTO::getIdFornecedor);
+	}
+
+	@CacheEvict(cacheNames = CacheConfig.FORNECEDORES, key = "#fornecedor.idFornecedor", condition = "#fornecedor.idFornecedor != null")
 	public Fornecedor saveFornecedor(Fornecedor fornecedor) {
-		return fornecedorRepository.save(fornecedor);
+		esquecerCnpj(fornecedor);
+		Fornecedor fornecedorSalvo = fornecedorRepository.save(fornecedor);
+		fornecedorBuscaService.indexar(fornecedorSalvo);
+		catalogoSnapshotService.renomearFornecedores(Collections.singletonList(fornecedorSalvo));
+		produtoViewService.propagarFornecedores(Collections.singletonList(fornecedorSalvo));
+		return fornecedorSalvo;
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.FORNECEDORES, key = "#fornecedorDTO.idFornecedor", condition = "#fornecedorDTO.idFornecedor != null")
 	public Fornecedor saveFornecedorDTO(FornecedorDTO fornecedorDTO) {
-		return fornecedorRepository.save(fornecedorDTOtoEntity(fornecedorDTO));
+		Fornecedor fornecedorSalvo = fornecedorRepository.save(fornecedorDTOtoEntity(fornecedorDTO));
+		esquecerCnpj(fornecedorSalvo);
+		fornecedorBuscaService.indexar(fornecedorSalvo);
+		catalogoSnapshotService.renomearFornecedores(Collections.singletonList(fornecedorSalvo));
+		produtoViewService.propagarFornecedores(Collections.singletonList(fornecedorSalvo));
+		return fornecedorSalvo;
+	}
+
+	@CacheEvict(cacheNames = CacheConfig.FORNECEDORES, allEntries = true)
+	@Transactional
+	public List<Fornecedor> saveAllFornecedor(List<Fornecedor> fornecedors) {
+		if (fornecedors.size() > tamanhoMaximoLote) {
+			throw new LimiteLoteException("O lote deve conter no máximo " + tamanhoMaximoLote + " Fornecedores.");
+		}
+		fornecedors.forEach(this::esquecerCnpj);
+		List<Fornecedor> fornecedoresSalvos = fornecedorRepository.saveAll(fornecedors);
+		fornecedorBuscaService.indexar(fornecedoresSalvos);
+		catalogoSnapshotService.renomearFornecedores(fornecedoresSalvos);
+		produtoViewService.propagarFornecedores(fornecedoresSalvos);
+		return fornecedoresSalvos;
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.FORNECEDORES, key = "#fornecedor.idFornecedor", condition = "#fornecedor.idFornecedor != null")
 	public Fornecedor updateFornecedor(Fornecedor fornecedor) {
-		return fornecedorRepository.save(fornecedor);
+		esquecerCnpj(fornecedor);
+		Fornecedor fornecedorSalvo = fornecedorRepository.save(fornecedor);
+		fornecedorBuscaService.indexar(fornecedorSalvo);
+		catalogoSnapshotService.renomearFornecedores(Collections.singletonList(fornecedorSalvo));
+		produtoViewService.propagarFornecedores(Collections.singletonList(fornecedorSalvo));
+		return fornecedorSalvo;
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.FORNECEDORES, key = "#id")
+	@Transactional
 	public void deleteFornecedor(Integer id) {
-		fornecedorRepository.delete(fornecedorRepository.findById(id).get());
+		Fornecedor fornecedor = fornecedorRepository.findById(id).get();
+		esquecerCnpj(fornecedor);
+		fornecedorRepository.delete(fornecedor);
+		sincronizacaoService.registrarExclusao(SincronizacaoService.FORNECEDOR, id);
+		fornecedorBuscaService.remover(id);
 	}
 
+	@CacheEvict(cacheNames = CacheConfig.FORNECEDORES, key = "#fornecedor.idFornecedor", condition = "#fornecedor.idFornecedor != null")
+	@Transactional
 	public void deleteFornecedor(Fornecedor fornecedor) {
+		esquecerCnpj(fornecedor);
 		fornecedorRepository.delete(fornecedor);
+		sincronizacaoService.registrarExclusao(SincronizacaoService.FORNECEDOR, fornecedor.getIdFornecedor());
+		fornecedorBuscaService.remover(fornecedor.getIdFornecedor());
 	}
 
-	private Fornecedor fornecedorDTOtoEntity(FornecedorDTO fornecedorDTO) {
+	private long chaveCnpj(String cnpj) {
+		long chave = CnpjCodec.parse(cnpj);
+		if (chave == CnpjCodec.INVALIDO) {
+			throw new CNPJException("CNPJ inválido: " + cnpj + ". Informe os 14 dígitos, com ou sem pontos, traços e barras.");
+		}
+		return chave;
+	}
+
+	private void esquecerCnpj(Fornecedor fornecedor) {
+		long chave = CnpjCodec.parse(fornecedor.getCnpj());
+		if (chave != CnpjCodec.INVALIDO) {
+			cnpjIdCache.remove(chave);
+		}
+	}
+
+	Fornecedor fornecedorDTOtoEntity(FornecedorDTO fornecedorDTO) {
 		Fornecedor fornecedor = new Fornecedor();
 
 		fornecedor.setBairro(fornecedorDTO.getBairro());
@@ -77,7 +303,7 @@ public class FornecedorService {
 		return fornecedor;
 	}
 
-	private FornecedorDTO fornecedorToDTO(Fornecedor fornecedor) {
+	FornecedorDTO fornecedorToDTO(Fornecedor fornecedor) {
 		FornecedorDTO fornecedorDTO = new FornecedorDTO();
 
 		fornecedorDTO.setBairro(fornecedor.getBairro());
@@ -132,12 +358,42 @@ public class FornecedorService {
 	}
 
 	public CnpjDTO getCnpjDTOFromExternal(String cnpj) {
-		RestTemplate restTemplate = new RestTemplate();
-		String uri = "https://www.receitaws.com.br/v1/cnpj/{cnpj}";
+		return getCnpjDTOFromExternal(cnpj, null);
+	}
+
+	public CnpjDTO getCnpjDTOFromExternal(String cnpj, TokenBucket limite) {
+		long chave = CnpjCodec.parse(cnpj);
+		if (chave == CnpjCodec.INVALIDO) {
+			throw new CNPJException("CNPJ " + cnpj + " inválido.");
+		}
+		CnpjCacheService.Resultado resultado = cnpjCacheService.get(chave);
+		if (!resultado.isEmCache()) {
+			if (limite != null && !limite.adquirir()) {
+				throw new CNPJException("Consulta do CNPJ " + cnpj + " interrompida.");
+			}
+			resultado = consultarCnpjExterno(CnpjCodec.digits(chave));
+			cnpjCacheService.put(chave, resultado);
+		}
+		if (!resultado.isEncontrado()) {
+			throw new CNPJException("CNPJ " + cnpj + " não encontrado na Receita Federal.");
+		}
+
+		return resultado.getCnpjDTO();
+	}
+
+	private CnpjCacheService.Resultado consultarCnpjExterno(String cnpj) {
 		Map<String, String> params = new HashMap<String, String>();
 		params.put("cnpj", cnpj);
 
-		return restTemplate.getForObject(uri, CnpjDTO.class, params);
+		try {
+			CnpjDTO cnpjDTO = consultaExternaRestTemplate.getForObject(receitawsUrl, CnpjDTO.class, params);
+			if (cnpjDTO == null || "ERROR".equalsIgnoreCase(cnpjDTO.getStatus())) {
+				return CnpjCacheService.Resultado.NAO_ENCONTRADO;
+			}
+			return CnpjCacheService.Resultado.encontrado(cnpjDTO);
+		} catch (HttpClientErrorException.NotFound | HttpClientErrorException.BadRequest e) {
+			return CnpjCacheService.Resultado.NAO_ENCONTRADO;
+		}
 	}
 	
 	public Fornecedor updateAddressFornecedor(Fornecedor fornecedor, CepDTO cepDTO) {
@@ -152,20 +408,74 @@ public class FornecedorService {
 	}
 	
 	public CepDTO getCepDTOFromExternal(String cep) {
-		RestTemplate restTemplate = new RestTemplate();
-		String uri = "https://viacep.com.br/ws/{cep}/json/";
+		String chave = cep.replaceAll("\\D", "");
+		if (chave.length() != 8) {
+			throw new NumberFormatException("CEP deve ter 8 dígitos.");
+		}
+
+		CepDTO cepDTO = cepCache.get(chave);
+		if (cepDTO != null) {
+			return cepDTO;
+		}
+
+		CompletableFuture<CepDTO> consulta = new CompletableFuture<>();
+		CompletableFuture<CepDTO> emAndamento = cepsEmAndamento.putIfAbsent(chave, consulta);
+		if (emAndamento == null) {
+			try {
+				CepDTO resultado = consultarCepExterno(chave);
+				cepCache.put(chave, resultado, ttlCep.toMillis());
+				consulta.complete(resultado);
+			} catch (RuntimeException e) {
+				consulta.completeExceptionally(e);
+			} finally {
+				cepsEmAndamento.remove(chave, consulta);
+			}
+			emAndamento = consulta;
+		}
+
+		try {
+			return emAndamento.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private CepDTO consultarCepExterno(String cep) {
 		Map<String, String> params = new HashMap<String, String>();
 		params.put("cep", cep);
 
-		return restTemplate.getForObject(uri, CepDTO.class, params);
+		return consultaExternaRestTemplate.getForObject(viacepUrl, CepDTO.class, params);
+	}
+
+	public CacheEstatisticasDTO estatisticasCep() {
+		return new CacheEstatisticasDTO("cep", cepCache.size(), cepCache.getAcertos(), cepCache.getFalhas());
 	}
 	
 	public boolean CNPJValidFormatted(String cnpj) {
-		if (cnpj.charAt(2) != '.' || cnpj.charAt(6) != '.' || cnpj.charAt(10) != '/' || cnpj.charAt(15) != '-' || cnpj.length() != 18) {
-			return false;
+		return CnpjCodec.isValidFormatted(cnpj);
+	}
+
+	public CnpjValidacaoDTO validarCnpjs(List<String> cnpjs) {
+		if (cnpjs.size() > tamanhoMaximoValidacao) {
+			throw new LimiteLoteException("A validação aceita no máximo " + tamanhoMaximoValidacao + " CNPJs.");
 		}
-		else {
-			return true;
+
+		List<Integer> indicesInvalidos = new ArrayList<>();
+		for (int i = 0; i < cnpjs.size(); i++) {
+			if (!CnpjCodec.isValid(cnpjs.get(i))) {
+				indicesInvalidos.add(i);
+			}
 		}
+
+		CnpjValidacaoDTO cnpjValidacaoDTO = new CnpjValidacaoDTO();
+		cnpjValidacaoDTO.setTotal(cnpjs.size());
+		cnpjValidacaoDTO.setValidos(cnpjs.size() - indicesInvalidos.size());
+		cnpjValidacaoDTO.setInvalidos(indicesInvalidos.size());
+		cnpjValidacaoDTO.setIndicesInvalidos(indicesInvalidos);
+
+		return cnpjValidacaoDTO;
 	}
 }
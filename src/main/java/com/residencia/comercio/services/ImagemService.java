@@ -0,0 +1,163 @@
+package com.residencia.comercio.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ImagemService {
+
+	private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+	@Value("${files.folder.path}")
+	private Path path;
+
+	public String armazenar(InputStream inputStream) throws IOException {
+		Path temporario = criarTemporario();
+		MessageDigest digest = sha256();
+		try (InputStream entrada = new DigestInputStream(inputStream, digest);
+				OutputStream saida = Files.newOutputStream(temporario)) {
+			entrada.transferTo(saida);
+		} catch (IOException e) {
+			Files.deleteIfExists(temporario);
+			throw e;
+		}
+		return publicar(temporario, hexadecimal(digest.digest()));
+	}
+
+	public String armazenar(Path arquivo) throws IOException {
+		return publicar(arquivo, calcularHash(arquivo));
+	}
+
+	public String importarLegado(String caminho) throws IOException {
+		Path arquivo;
+		try {
+			arquivo = Paths.get(caminho);
+		} catch (InvalidPathException e) {
+			return null;
+		}
+		if (!Files.isRegularFile(arquivo)) {
+			return null;
+		}
+		try (InputStream inputStream = Files.newInputStream(arquivo)) {
+			return armazenar(inputStream);
+		}
+	}
+
+	public Path caminho(String hash) {
+		return path.resolve("imagens").resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	public Path caminhoVariante(String hash, String variante) {
+		return caminho(hash).resolveSibling(hash + "." + variante + ".jpg");
+	}
+
+	public boolean isHash(String valor) {
+		if (valor == null || valor.length() != 64) {
+			return false;
+		}
+		for (int i = 0; i < valor.length(); i++) {
+			char c = valor.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean existe(String hash) {
+		return isHash(hash) && Files.isRegularFile(caminho(hash));
+	}
+
+	public MediaType tipoConteudo(Path arquivo) {
+		ByteBuffer cabecalho = ByteBuffer.allocate(12);
+		try (FileChannel canal = FileChannel.open(arquivo)) {
+			while (cabecalho.hasRemaining() && canal.read(cabecalho) > 0) {
+			}
+		} catch (IOException e) {
+			return MediaType.APPLICATION_OCTET_STREAM;
+		}
+		byte[] bytes = cabecalho.array();
+		if (cabecalho.position() >= 4 && (bytes[0] & 0xFF) == 0x89 && bytes[1] == 'P' && bytes[2] == 'N' && bytes[3] == 'G') {
+			return MediaType.IMAGE_PNG;
+		}
+		if (cabecalho.position() >= 3 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
+			return MediaType.IMAGE_JPEG;
+		}
+		if (cabecalho.position() >= 3 && bytes[0] == 'G' && bytes[1] == 'I' && bytes[2] == 'F') {
+			return MediaType.IMAGE_GIF;
+		}
+		if (cabecalho.position() == 12 && new String(bytes, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+				&& new String(bytes, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+			return MediaType.parseMediaType("image/webp");
+		}
+		return MediaType.APPLICATION_OCTET_STREAM;
+	}
+
+	private Path criarTemporario() throws IOException {
+		Path temporarios = path.resolve("tmp");
+		Files.createDirectories(temporarios);
+		return Files.createTempFile(temporarios, "upload-", ".part");
+	}
+
+	String calcularHash(Path arquivo) throws IOException {
+		MessageDigest digest = sha256();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+		try (FileChannel canal = FileChannel.open(arquivo)) {
+			while (canal.read(buffer) != -1) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+		return hexadecimal(digest.digest());
+	}
+
+	String publicar(Path temporario, String hash) throws IOException {
+		Path destino = caminho(hash);
+		if (Files.exists(destino)) {
+			Files.delete(temporario);
+			return hash;
+		}
+		Files.createDirectories(destino.getParent());
+		try {
+			Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException e) {
+			Files.deleteIfExists(temporario);
+		}
+		return hash;
+	}
+
+	private MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private String hexadecimal(byte[] bytes) {
+		char[] caracteres = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			caracteres[i * 2] = HEXADECIMAL[(bytes[i] >> 4) & 0xF];
+			caracteres[i * 2 + 1] = HEXADECIMAL[bytes[i] & 0xF];
+		}
+		return new String(caracteres);
+	}
+}
@@ -0,0 +1,271 @@
+package com.residencia.comercio.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.residencia.comercio.dtos.UploadDTO;
+import com.residencia.comercio.exceptions.NoSuchElementFoundException;
+import com.residencia.comercio.exceptions.UploadException;
+
+@Service
+public class ImagemUploadService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImagemUploadService.class);
+
+	@Autowired
+	ImagemService imagemService;
+
+	@Value("${files.folder.path}")
+	private Path path;
+
+	@Value("${upload.tamanho-maximo:100MB}")
+	private DataSize tamanhoMaximo;
+
+	@Value("${upload.tamanho-bloco:4MB}")
+	private DataSize tamanhoBloco;
+
+	@Value("${upload.retencao-minutos:1440}")
+	private int retencaoMinutos;
+
+	private final Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void iniciar() {
+		Path diretorio = diretorio();
+		if (!Files.isDirectory(diretorio)) {
+			return;
+		}
+		try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*.part")) {
+			for (Path arquivo : arquivos) {
+				Files.deleteIfExists(arquivo);
+			}
+		} catch (IOException e) {
+			logger.warn("Não foi possível limpar uploads anteriores: {}", e.getMessage());
+		}
+	}
+
+	public UploadDTO iniciarUpload(long tamanho, String hash) throws IOException {
+		if (tamanho <= 0 || tamanho > tamanhoMaximo.toBytes()) {
+			throw new UploadException("O tamanho do arquivo deve estar entre 1 e " + tamanhoMaximo.toBytes() + " bytes.");
+		}
+		if (hash != null && !hash.matches("[0-9a-f]{64}")) {
+			throw new UploadException("O hash informado deve ser um SHA-256 em hexadecimal minúsculo.");
+		}
+		removerExpirados();
+
+		Files.createDirectories(diretorio());
+		String id = UUID.randomUUID().toString();
+		Path arquivo = diretorio().resolve(id + ".part");
+		try (RandomAccessFile preAlocado = new RandomAccessFile(arquivo.toFile(), "rw")) {
+			preAlocado.setLength(tamanho);
+		}
+
+		Upload upload = new Upload(id, arquivo, tamanho, tamanhoBloco.toBytes(), hash);
+		uploads.put(id, upload);
+		return upload.toDTO();
+	}
+
+	public UploadDTO findUploadById(String id) {
+		return buscar(id).toDTO();
+	}
+
+	public UploadDTO receberBloco(String id, long offset, String checksum, InputStream corpo) throws IOException {
+		Upload upload = buscar(id);
+		if (offset < 0 || offset >= upload.tamanho || offset % upload.tamanhoBloco != 0) {
+			throw new UploadException("O offset deve ser múltiplo de " + upload.tamanhoBloco + " e menor que "
+					+ upload.tamanho + ".");
+		}
+		long checksumEsperado = checksum(checksum);
+		long limite = offset + Math.min(upload.tamanhoBloco, upload.tamanho - offset);
+		int indice = (int) (offset / upload.tamanhoBloco);
+		upload.iniciarEscrita(indice);
+		boolean confirmado = false;
+		try {
+			gravarBloco(upload, offset, limite, checksumEsperado, corpo);
+			confirmado = true;
+		} finally {
+			upload.terminarEscrita(indice, confirmado);
+		}
+		return upload.toDTO();
+	}
+
+	private void gravarBloco(Upload upload, long offset, long limite, long checksumEsperado, InputStream corpo)
+			throws IOException {
+		CRC32C crc = new CRC32C();
+		ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+		long posicao = offset;
+		try (FileChannel canal = FileChannel.open(upload.arquivo, StandardOpenOption.WRITE);
+				ReadableByteChannel entrada = Channels.newChannel(corpo)) {
+			while (entrada.read(buffer) != -1) {
+				if (posicao + buffer.position() > limite) {
+					throw new UploadException("O bloco excede o tamanho esperado de " + (limite - offset) + " bytes.");
+				}
+				buffer.flip();
+				crc.update(buffer.array(), 0, buffer.limit());
+				while (buffer.hasRemaining()) {
+					posicao += canal.write(buffer, posicao);
+				}
+				buffer.clear();
+			}
+		}
+
+		if (posicao != limite) {
+			throw new UploadException("Bloco incompleto: recebidos " + (posicao - offset) + " de " + (limite - offset)
+					+ " bytes.");
+		}
+		if (crc.getValue() != checksumEsperado) {
+			throw new UploadException("O checksum CRC32C do bloco no offset " + offset + " não confere.");
+		}
+	}
+
+	public String concluir(String id) throws IOException {
+		Upload upload = buscar(id);
+		if (!upload.concluir()) {
+			throw new UploadException("Upload incompleto: confirmados " + upload.confirmado() + " de " + upload.tamanho
+					+ " bytes.");
+		}
+		if (!uploads.remove(id, upload)) {
+			throw new NoSuchElementFoundException("Upload de ID " + id + " não encontrado.");
+		}
+
+		String hash = imagemService.calcularHash(upload.arquivo);
+		if (upload.hash != null && !upload.hash.equals(hash)) {
+			Files.deleteIfExists(upload.arquivo);
+			throw new UploadException("O SHA-256 do arquivo recebido (" + hash + ") difere do informado no início do upload.");
+		}
+		return imagemService.publicar(upload.arquivo, hash);
+	}
+
+	public void cancelar(String id) throws IOException {
+		Upload upload = uploads.remove(id);
+		if (upload == null) {
+			throw new NoSuchElementFoundException("Upload de ID " + id + " não encontrado.");
+		}
+		Files.deleteIfExists(upload.arquivo);
+	}
+
+	private Upload buscar(String id) {
+		Upload upload = uploads.get(id);
+		if (upload == null) {
+			throw new NoSuchElementFoundException("Upload de ID " + id + " não encontrado.");
+		}
+		return upload;
+	}
+
+	private long checksum(String checksum) {
+		try {
+			return Long.parseUnsignedLong(checksum, 16);
+		} catch (NumberFormatException | NullPointerException e) {
+			throw new UploadException("Informe o CRC32C do bloco em hexadecimal no cabeçalho X-Checksum-CRC32C.");
+		}
+	}
+
+	private void removerExpirados() {
+		long limite = System.currentTimeMillis() - retencaoMinutos * 60_000L;
+		for (Upload upload : uploads.values()) {
+			if (upload.ultimaAtividade < limite && uploads.remove(upload.id, upload)) {
+				try {
+					Files.deleteIfExists(upload.arquivo);
+				} catch (IOException e) {
+					logger.warn("Não foi possível remover o upload expirado {}: {}", upload.id, e.getMessage());
+				}
+			}
+		}
+	}
+
+	private Path diretorio() {
+		return path.resolve("tmp").resolve("uploads");
+	}
+
+	private static class Upload {
+		private final String id;
+		private final Path arquivo;
+		private final long tamanho;
+		private final long tamanhoBloco;
+		private final String hash;
+		private final int totalBlocos;
+		private final BitSet blocos;
+		private final BitSet emEscrita;
+		private boolean concluido;
+		private volatile long ultimaAtividade = System.currentTimeMillis();
+
+		private Upload(String id, Path arquivo, long tamanho, long tamanhoBloco, String hash) {
+			this.id = id;
+			this.arquivo = arquivo;
+			this.tamanho = tamanho;
+			this.tamanhoBloco = tamanhoBloco;
+			this.hash = hash;
+			this.totalBlocos = (int) ((tamanho + tamanhoBloco - 1) / tamanhoBloco);
+			this.blocos = new BitSet(totalBlocos);
+			this.emEscrita = new BitSet(totalBlocos);
+		}
+
+		private synchronized void iniciarEscrita(int indice) {
+			if (concluido) {
+				throw new UploadException("O upload " + id + " já foi concluído.");
+			}
+			if (emEscrita.get(indice)) {
+				throw new UploadException("O bloco no offset " + indice * tamanhoBloco
+						+ " já está sendo recebido por outra requisição.");
+			}
+			emEscrita.set(indice);
+			blocos.clear(indice);
+			ultimaAtividade = System.currentTimeMillis();
+		}
+
+		private synchronized boolean concluir() {
+			if (emEscrita.isEmpty() && blocos.cardinality() == totalBlocos) {
+				concluido = true;
+			}
+			return concluido;
+		}
+
+		private synchronized void terminarEscrita(int indice, boolean confirmado) {
+			emEscrita.clear(indice);
+			if (confirmado) {
+				blocos.set(indice);
+			}
+			ultimaAtividade = System.currentTimeMillis();
+		}
+
+		private synchronized long confirmado() {
+			return Math.min(tamanho, blocos.nextClearBit(0) * tamanhoBloco);
+		}
+
+		private synchronized UploadDTO toDTO() {
+			UploadDTO uploadDTO = new UploadDTO();
+
+			uploadDTO.setIdUpload(id);
+			uploadDTO.setTamanho(tamanho);
+			uploadDTO.setTamanhoBloco(tamanhoBloco);
+			uploadDTO.setConfirmado(confirmado());
+			uploadDTO.setBlocosRecebidos(blocos.cardinality());
+			uploadDTO.setTotalBlocos(totalBlocos);
+
+			return uploadDTO;
+		}
+	}
+}
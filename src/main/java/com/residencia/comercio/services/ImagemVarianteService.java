@@ -0,0 +1,278 @@
+package com.residencia.comercio.services;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.residencia.comercio.dtos.ImagemStatusDTO;
+
+@Service
+public class ImagemVarianteService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImagemVarianteService.class);
+
+	public static final Map<String, Integer> VARIANTES;
+
+	static {
+		Map<String, Integer> variantes = new LinkedHashMap<>();
+		variantes.put("miniatura", 160);
+		variantes.put("media", 640);
+		VARIANTES = Collections.unmodifiableMap(variantes);
+	}
+
+	@Autowired
+	ImagemService imagemService;
+
+	@Value("${imagem.variantes.trabalhadores:2}")
+	private int trabalhadores;
+
+	@Value("${imagem.variantes.tamanho-fila:100}")
+	private int tamanhoFila;
+
+	@Value("${imagem.variantes.tentativas:3}")
+	private int tentativas;
+
+	@Value("${imagem.variantes.espera-tentativa:500}")
+	private long esperaTentativa;
+
+	@Value("${imagem.variantes.qualidade:0.85}")
+	private float qualidade;
+
+	@Value("${imagem.variantes.pixels-maximo:40000000}")
+	private long pixelsMaximo;
+
+	private ThreadPoolExecutor executor;
+
+	private final Map<Integer, Tarefa> tarefas = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void iniciar() {
+		ImageIO.setUseCache(false);
+		AtomicInteger contador = new AtomicInteger();
+		executor = new ThreadPoolExecutor(trabalhadores, trabalhadores, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(tamanhoFila), runnable -> {
+					Thread thread = new Thread(runnable, "imagem-variante-" + contador.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	public void agendar(Integer idProduto, String hash) {
+		Tarefa tarefa = new Tarefa(hash);
+		tarefas.put(idProduto, tarefa);
+		submeter(idProduto, tarefa);
+	}
+
+	public Path variante(Integer idProduto, String hash, String variante) {
+		Path arquivo = imagemService.caminhoVariante(hash, variante);
+		if (Files.isRegularFile(arquivo)) {
+			return arquivo;
+		}
+		Tarefa tarefa = tarefas.get(idProduto);
+		if ((tarefa == null || !tarefa.hash.equals(hash)) && imagemService.existe(hash)) {
+			Tarefa nova = new Tarefa(hash);
+			boolean registrada = tarefa == null ? tarefas.putIfAbsent(idProduto, nova) == null
+					: tarefas.replace(idProduto, tarefa, nova);
+			if (registrada) {
+				submeter(idProduto, nova);
+			}
+		}
+		return null;
+	}
+
+	private void submeter(Integer idProduto, Tarefa tarefa) {
+		try {
+			executor.execute(() -> processar(idProduto, tarefa));
+		} catch (RejectedExecutionException e) {
+			tarefas.remove(idProduto, tarefa);
+			logger.debug("Fila de variantes cheia, geração para o Produto {} descartada.", idProduto);
+		}
+	}
+
+	public ImagemStatusDTO status(Integer idProduto, String hash) {
+		ImagemStatusDTO imagemStatusDTO = new ImagemStatusDTO();
+		List<String> disponiveis = variantesDisponiveis(hash);
+		Tarefa tarefa = tarefas.get(idProduto);
+
+		imagemStatusDTO.setIdProduto(idProduto);
+		imagemStatusDTO.setHash(hash);
+		imagemStatusDTO.setVariantes(disponiveis);
+		if (tarefa != null && tarefa.hash.equals(hash)) {
+			imagemStatusDTO.setStatus(tarefa.status);
+			imagemStatusDTO.setTentativas(tarefa.tentativas);
+			imagemStatusDTO.setErro(tarefa.erro);
+		} else {
+			imagemStatusDTO.setStatus(disponiveis.size() == VARIANTES.size() ? "CONCLUIDO" : "NAO_AGENDADO");
+			imagemStatusDTO.setTentativas(0);
+		}
+
+		return imagemStatusDTO;
+	}
+
+	private void processar(Integer idProduto, Tarefa tarefa) {
+		tarefa.status = "PROCESSANDO";
+		for (int tentativa = 1; tentativa <= tentativas; tentativa++) {
+			tarefa.tentativas = tentativa;
+			try {
+				gerarVariantes(tarefa.hash);
+				tarefa.status = "CONCLUIDO";
+				tarefa.erro = null;
+				tarefas.remove(idProduto, tarefa);
+				return;
+			} catch (IllegalArgumentException e) {
+				tarefa.erro = e.getMessage();
+				break;
+			} catch (IOException | RuntimeException e) {
+				tarefa.erro = e.getMessage();
+			}
+			if (tentativa < tentativas) {
+				try {
+					Thread.sleep(esperaTentativa * tentativa);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		tarefa.status = "FALHOU";
+	}
+
+	private void gerarVariantes(String hash) throws IOException {
+		List<String> pendentes = new ArrayList<>(VARIANTES.keySet());
+		pendentes.removeAll(variantesDisponiveis(hash));
+		if (pendentes.isEmpty()) {
+			return;
+		}
+
+		BufferedImage original = ler(imagemService.caminho(hash));
+		for (String variante : pendentes) {
+			gravar(redimensionar(original, VARIANTES.get(variante)), imagemService.caminhoVariante(hash, variante));
+		}
+	}
+
+	private BufferedImage ler(Path arquivo) throws IOException {
+		try (ImageInputStream entrada = ImageIO.createImageInputStream(arquivo.toFile())) {
+			Iterator<ImageReader> readers = entrada == null ? Collections.emptyIterator() : ImageIO.getImageReaders(entrada);
+			if (!readers.hasNext()) {
+				throw new IllegalArgumentException("Formato de imagem não suportado.");
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(entrada, true, true);
+				long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+				if (pixels > pixelsMaximo) {
+					throw new IllegalArgumentException(
+							"Imagem com " + pixels + " pixels excede o limite de " + pixelsMaximo + " pixels.");
+				}
+				return reader.read(0);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private List<String> variantesDisponiveis(String hash) {
+		List<String> disponiveis = new ArrayList<>();
+		for (String variante : VARIANTES.keySet()) {
+			if (Files.isRegularFile(imagemService.caminhoVariante(hash, variante))) {
+				disponiveis.add(variante);
+			}
+		}
+		return disponiveis;
+	}
+
+	private BufferedImage redimensionar(BufferedImage imagem, int lado) {
+		double escala = Math.min(1.0, (double) lado / Math.max(imagem.getWidth(), imagem.getHeight()));
+		int largura = Math.max(1, (int) Math.round(imagem.getWidth() * escala));
+		int altura = Math.max(1, (int) Math.round(imagem.getHeight() * escala));
+
+		BufferedImage atual = imagem;
+		while (atual.getWidth() / 2 >= largura && atual.getHeight() / 2 >= altura) {
+			atual = desenhar(atual, atual.getWidth() / 2, atual.getHeight() / 2);
+		}
+		return desenhar(atual, largura, altura);
+	}
+
+	private BufferedImage desenhar(BufferedImage origem, int largura, int altura) {
+		BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+		Graphics2D grafico = destino.createGraphics();
+		try {
+			grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			grafico.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			grafico.setColor(Color.WHITE);
+			grafico.fillRect(0, 0, largura, altura);
+			grafico.drawImage(origem, 0, 0, largura, altura, null);
+		} finally {
+			grafico.dispose();
+		}
+		return destino;
+	}
+
+	private void gravar(BufferedImage imagem, Path destino) throws IOException {
+		Files.createDirectories(destino.getParent());
+		Path temporario = Files.createTempFile(destino.getParent(), "variante-", ".part");
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		try (ImageOutputStream saida = ImageIO.createImageOutputStream(temporario.toFile())) {
+			ImageWriteParam parametros = writer.getDefaultWriteParam();
+			parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+			parametros.setCompressionQuality(qualidade);
+			writer.setOutput(saida);
+			writer.write(null, new IIOImage(imagem, null, null), parametros);
+		} catch (IOException e) {
+			Files.deleteIfExists(temporario);
+			throw e;
+		} finally {
+			writer.dispose();
+		}
+		Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static class Tarefa {
+		private final String hash;
+		private volatile String status = "PENDENTE";
+		private volatile int tentativas;
+		private volatile String erro;
+
+		private Tarefa(String hash) {
+			this.hash = hash;
+		}
+	}
+}
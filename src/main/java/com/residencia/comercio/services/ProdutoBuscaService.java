@@ -0,0 +1,131 @@
+package com.residencia.comercio.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.residencia.comercio.dtos.ProdutoDTO;
+import com.residencia.comercio.dtos.SugestaoDTO;
+import com.residencia.comercio.entities.Produto;
+import com.residencia.comercio.repositories.ProdutoRepository;
+import com.residencia.comercio.utils.IndicePrefixo;
+import com.residencia.comercio.utils.IndiceProduto;
+import com.residencia.comercio.utils.Paginacao;
+import com.residencia.comercio.utils.Transacoes;
+
+@Service
+public class ProdutoBuscaService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProdutoBuscaService.class);
+
+	@Autowired
+	ProdutoRepository produtoRepository;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	Paginacao paginacao;
+
+	private final IndiceProduto indice = new IndiceProduto();
+
+	private final IndicePrefixo sugestoes = new IndicePrefixo();
+
+	private List<Runnable> pendentes;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void construirIndice() {
+		synchronized (this) {
+			pendentes = new ArrayList<>();
+		}
+		try {
+			Map<Integer, String> nomes = new HashMap<>();
+			transactionTemplate.executeWithoutResult(status -> {
+				try (Stream<ProdutoDTO> produtos = produtoRepository.streamAllProdutoDTO()) {
+					produtos.forEach(produto -> {
+						indice.indexar(produto.getIdProduto(), produto.getNomeProduto(), produto.getSku(),
+								produto.getCategoriaId(), produto.getFornecedorId());
+						nomes.put(produto.getIdProduto(), produto.getNomeProduto());
+					});
+				}
+			});
+			sugestoes.atualizar(nomes, Collections.emptyList());
+			logger.info("Índice de busca de Produtos construído com {} Produtos.", indice.tamanho());
+		} catch (RuntimeException e) {
+			logger.warn("Não foi possível construir o índice de busca de Produtos: {}", e.getMessage());
+		} finally {
+			synchronized (this) {
+				pendentes.forEach(Runnable::run);
+				pendentes = null;
+			}
+		}
+	}
+
+	public List<ProdutoDTO> buscar(String consulta, Integer idCategoria, Integer idFornecedor, Integer tamanho) {
+		List<Integer> ids = indice.buscar(consulta, idCategoria, idFornecedor, paginacao.tamanho(tamanho));
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		Map<Integer, ProdutoDTO> produtos = produtoRepository.findProdutoDTOByIdIn(ids).stream()
+				.collect(Collectors.toMap(ProdutoDTO::getIdProduto, Function.identity()));
+		List<ProdutoDTO> resultado = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			ProdutoDTO produto = produtos.get(id);
+			if (produto != null) {
+				resultado.add(produto);
+			}
+		}
+		return resultado;
+	}
+
+	public List<SugestaoDTO> sugerir(String prefixo, Integer tamanho) {
+		return sugestoes.sugerir(prefixo, paginacao.tamanho(tamanho));
+	}
+
+	public void indexar(Produto produto) {
+		indexar(Collections.singletonList(produto));
+	}
+
+	public void indexar(Collection<Produto> produtos) {
+		Transacoes.aposCommit(() -> aplicar(() -> {
+			Map<Integer, String> nomes = new HashMap<>();
+			for (Produto produto : produtos) {
+				indice.indexar(produto.getIdProduto(), produto.getNomeProduto(), produto.getSku(),
+						produto.getCategoria() == null ? null : produto.getCategoria().getIdCategoria(),
+						produto.getFornecedor() == null ? null : produto.getFornecedor().getIdFornecedor());
+				nomes.put(produto.getIdProduto(), produto.getNomeProduto());
+			}
+			sugestoes.atualizar(nomes, Collections.emptyList());
+		}));
+	}
+
+	public void remover(Integer idProduto) {
+		Transacoes.aposCommit(() -> aplicar(() -> {
+			indice.remover(idProduto);
+			sugestoes.atualizar(Collections.emptyMap(), Collections.singletonList(idProduto));
+		}));
+	}
+
+	private synchronized void aplicar(Runnable alteracao) {
+		if (pendentes != null) {
+			pendentes.add(alteracao);
+		} else {
+			alteracao.run();
+		}
+	}
+}
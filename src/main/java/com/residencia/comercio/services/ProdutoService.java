@@ -1,108 +1,388 @@
 package com.residencia.comercio.services;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.residencia.comercio.dtos.AlteracoesDTO;
+import com.residencia.comercio.dtos.CacheEstatisticasDTO;
+import com.residencia.comercio.dtos.PaginaDTO;
 import com.residencia.comercio.dtos.ProdutoDTO;
+import com.residencia.comercio.dtos.ResultadoLoteDTO;
+import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.entities.Fornecedor;
 import com.residencia.comercio.entities.Produto;
-import com.residencia.comercio.repositories.CategoriaRepository;
-import com.residencia.comercio.repositories.FornecedorRepository;
+import com.residencia.comercio.exceptions.LimiteLoteException;
+import com.residencia.comercio.exceptions.NoSuchElementFoundException;
+import com.residencia.comercio.exceptions.NumberFormatException;
 import com.residencia.comercio.repositories.ProdutoRepository;
+import com.residencia.comercio.utils.CacheLru;
+import com.residencia.comercio.utils.Paginacao;
 
 @Service
 public class ProdutoService {
 	
+	private static final Logger logger = LoggerFactory.getLogger(ProdutoService.class);
+	
+	private static final int EXPORTACAO_LOTE = 500;
+	
+	@PersistenceContext
+	EntityManager entityManager;
+	
+	@Autowired
+	ObjectMapper objectMapper;
+	
 	@Autowired
 	ProdutoRepository produtoRepository;
 	
 	@Autowired
-	CategoriaRepository categoriaRepository;
+	CategoriaService categoriaService;
 	
 	@Autowired
-	FornecedorRepository fornecedorRepository;
+	FornecedorService fornecedorService;
 	
-	@Value("${files.folder.path}")
-	private Path path;
+	@Autowired
+	Paginacao paginacao;
+
+	@Value("${lote.gravacao.tamanho-maximo:10000}")
+	private int tamanhoMaximoLote;
+
+	@Value("${lote.consulta.tamanho-maximo:500}")
+	private int tamanhoMaximoConsulta;
+
+	@Value("${cache.chave-natural.tamanho-maximo:10000}")
+	private int tamanhoMaximoSku;
+
+	@Value("${cache.chave-natural.ttl:1h}")
+	private Duration ttlSku;
+
+	private CacheLru<String, Integer> skuCache;
+	
+	@Autowired
+	ImagemService imagemService;
+
+	@Autowired
+	ImagemVarianteService imagemVarianteService;
+
+	@Autowired
+	ImagemUploadService imagemUploadService;
+
+	@Autowired
+	ProdutoBuscaService produtoBuscaService;
+
+	@Autowired
+	CatalogoSnapshotService catalogoSnapshotService;
+
+	@Autowired
+	ProdutoViewService produtoViewService;
+
+	@Autowired
+	SincronizacaoService sincronizacaoService;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void iniciarCacheSku() {
+		skuCache = new CacheLru<>(tamanhoMaximoSku);
+	}
 
 	public List<Produto> findAllProduto() {
 		return produtoRepository.findAll();
 	}
 
+	public PaginaDTO<Produto> findPageProduto(String cursor, Integer tamanho) {
+		int tamanhoPagina = paginacao.tamanho(tamanho);
+		List<Produto> produtos = produtoRepository.findByIdProdutoGreaterThanOrderByIdProdutoAsc(
+				paginacao.cursorParaId(cursor), paginacao.pageable(tamanhoPagina));
+		return paginacao.montarPagina(produtos, tamanhoPagina, Produto::getIdProduto);
+	}
+
+	public AlteracoesDTO<Produto> findAlteracoesProduto(String since, String cursor, Integer tamanho) {
+		return sincronizacaoService.alteracoes(SincronizacaoService.PRODUTO, since, cursor, tamanho,
+				produtoRepository::findAlteracoes, Produto::getAtualizadoEm, Produto::getIdProduto);
+	}
+
+	@Transactional(readOnly = true)
+	public void exportProdutoNdjson(OutputStream outputStream) throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(ProdutoDTO.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.setRootValueSeparator(null);
+
+		try (Stream<Produto> produtos = produtoRepository.streamAllProduto()) {
+			Iterator<Produto> iterator = produtos.iterator();
+			int linhas = 0;
+			while (iterator.hasNext()) {
+				writer.writeValue(generator, produtoToDTO(iterator.next()));
+				generator.writeRaw('\n');
+				if (++linhas % EXPORTACAO_LOTE == 0) {
+					entityManager.clear();
+					generator.flush();
+				}
+			}
+		}
+		generator.close();
+	}
+
 	public Produto findProdutoById(Integer id) {
-		return produtoRepository.findById(id).isPresent() ? produtoRepository.findById(id).get() : null;
+		return produtoRepository.findById(id).orElse(null);
+	}
+
+	public ResultadoLoteDTO<Produto> findAllProdutoById(List<Integer> ids) {
+		Set<Integer> idsProduto = paginacao.idsDoLote(ids);
+		return paginacao.montarLote(idsProduto, produtoRepository.findAllById(idsProduto), Produto::getIdProduto);
+	}
+
+	public Produto findProdutoBySku(String sku) {
+		Integer id = skuCache.get(sku);
+		if (id != null) {
+			Produto produto = produtoRepository.findById(id).orElse(null);
+			if (produto != null && sku.equals(produto.getSku())) {
+				return produto;
+			}
+			skuCache.remove(sku);
+		}
+
+		Produto produto = produtoRepository.findBySku(sku).orElse(null);
+		if (produto != null) {
+			skuCache.put(sku, produto.getIdProduto(), ttlSku.toMillis());
+		}
+		return produto;
+	}
+
+	public List<Produto> findAllProdutoBySku(List<String> skus) {
+		if (skus.size() > tamanhoMaximoConsulta) {
+			throw new LimiteLoteException("A consulta deve conter no máximo " + tamanhoMaximoConsulta + " SKUs.");
+		}
+
+		Map<String, Produto> produtos = new HashMap<>();
+		for (Produto produto : produtoRepository.findBySkuIn(new HashSet<>(skus))) {
+			produtos.put(produto.getSku(), produto);
+			skuCache.put(produto.getSku(), produto.getIdProduto(), ttlSku.toMillis());
+		}
+		List<Produto> resultado = new ArrayList<>(produtos.size());
+		for (String sku : skus) {
+			Produto produto = produtos.remove(sku);
+			if (produto != null) {
+				resultado.add(produto);
+			}
+		}
+		return resultado;
+	}
+
+	public CacheEstatisticasDTO estatisticasSku() {
+		return new CacheEstatisticasDTO("sku", skuCache.size(), skuCache.getAcertos(), skuCache.getFalhas());
 	}
 
 	public ProdutoDTO findProdutoDTOById(Integer id) {
-		return produtoRepository.findById(id).isPresent() ? produtoToDTO(produtoRepository.findById(id).get()) : null;
+		if (catalogoSnapshotService.ativo()) {
+			return catalogoSnapshotService.findProdutoDTOById(id);
+		}
+		return produtoViewService.findProdutoDTOById(id);
+	}
+
+	public PaginaDTO<ProdutoDTO> findPageProdutoDTO(String cursor, Integer tamanho) {
+		int tamanhoPagina = paginacao.tamanho(tamanho);
+		if (catalogoSnapshotService.ativo()) {
+			return paginacao.montarPagina(
+					catalogoSnapshotService.findProdutoDTOPage(paginacao.cursorParaId(cursor), tamanhoPagina + 1),
+					tamanhoPagina, ProdutoDTO::getIdProduto);
+		}
+		List<ProdutoDTO> produtos = produtoViewService.findProdutoDTOPage(paginacao.cursorParaId(cursor),
+				paginacao.pageable(tamanhoPagina));
+		return paginacao.montarPagina(produtos, tamanhoPagina, ProdutoDTO::getIdProduto);
+	}
+
+	public String findImagemProdutoById(Integer id) {
+		String hash = produtoRepository.findImagemProdutoById(id).orElse(null);
+		if (hash == null) {
+			throw new NoSuchElementFoundException("Não foi encontrada imagem para o Produto com o id " + id);
+		}
+		if (!imagemService.isHash(hash)) {
+			hash = migrarImagemLegada(id, hash);
+		}
+		return hash;
+	}
+
+	private String migrarImagemLegada(Integer idProduto, String caminho) {
+		String hash;
+		try {
+			hash = imagemService.importarLegado(caminho);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Falha ao migrar a imagem do Produto.", e);
+		}
+		if (hash == null) {
+			return caminho;
+		}
+		transactionTemplate.executeWithoutResult(status -> produtoRepository.updateImagemProdutoLegada(idProduto,
+				caminho, hash, Instant.now().truncatedTo(ChronoUnit.MICROS)));
+		imagemVarianteService.agendar(idProduto, hash);
+		return hash;
 	}
 
 	public Produto saveProduto(Produto produto) {
-		return produtoRepository.save(produto);
+		esquecerSku(produto);
+		Produto produtoSalvo = gravar(produto);
+		produtoBuscaService.indexar(produtoSalvo);
+		catalogoSnapshotService.atualizar(produtoSalvo);
+		return produtoSalvo;
 	}
 
 	public Produto saveProdutoWithImage(String produto, MultipartFile file) {
-		Produto newProduto = new Produto();
-		
+		Produto newProduto;
 		try {
-			ObjectMapper objMapper = new ObjectMapper();
-			newProduto = objMapper.readValue(produto, Produto.class);
+			newProduto = objectMapper.readValue(produto, Produto.class);
 		} catch (IOException e) {
-			System.out.println("Erro de conversão");
-			e.printStackTrace();
+			logger.warn("Produto recebido com a imagem não pôde ser convertido: {}", e.getMessage());
+			throw new NumberFormatException("O Produto informado não é um JSON válido.");
 		}
 		
-		Produto produtoSaved = produtoRepository.save(newProduto);
-		
-		String filename = "produto."+produtoSaved.getIdProduto()+".image.png";
-		
-		try {
-			Files.copy(file.getInputStream(), path.resolve(filename), StandardCopyOption.REPLACE_EXISTING);
+		try (InputStream inputStream = file.getInputStream()) {
+			newProduto.setImagemProduto(imagemService.armazenar(inputStream));
 		} catch (IOException e) {
-			e.printStackTrace();
+			throw new UncheckedIOException("Falha ao gravar a imagem do Produto.", e);
 		}
 		
+		esquecerSku(newProduto);
+		Produto produtoSalvo = gravar(newProduto);
+		produtoBuscaService.indexar(produtoSalvo);
+		catalogoSnapshotService.atualizar(produtoSalvo);
+		imagemVarianteService.agendar(produtoSalvo.getIdProduto(), produtoSalvo.getImagemProduto());
+		return produtoSalvo;
+	}
+	
+	public Produto saveImagemProduto(Integer idProduto, String idUpload) {
+		Produto produto = findProdutoById(idProduto);
+		if (produto == null) {
+			throw new NoSuchElementFoundException("Não foi encontrado um Produto com o id " + idProduto);
+		}
+
 		try {
-			produtoSaved.setImagemProduto(path.resolve(filename).toRealPath().toString());
+			produto.setImagemProduto(imagemUploadService.concluir(idUpload));
 		} catch (IOException e) {
-			e.printStackTrace();
+			throw new UncheckedIOException("Falha ao gravar a imagem do Produto.", e);
 		}
-		
-		return produtoRepository.save(produtoSaved);
+
+		Produto produtoSalvo = gravar(produto);
+		produtoBuscaService.indexar(produtoSalvo);
+		catalogoSnapshotService.atualizar(produtoSalvo);
+		imagemVarianteService.agendar(produtoSalvo.getIdProduto(), produtoSalvo.getImagemProduto());
+		return produtoSalvo;
 	}
-	
+
 	public Produto saveProdutoDTO(ProdutoDTO produtoDTO) {
-		return produtoRepository.save(produtoDTOtoEntity(produtoDTO));
+		Produto produtoSalvo = gravar(produtoDTOtoEntity(produtoDTO));
+		esquecerSku(produtoSalvo);
+		produtoBuscaService.indexar(produtoSalvo);
+		catalogoSnapshotService.atualizar(produtoSalvo);
+		return produtoSalvo;
+	}
+
+	@Transactional
+	public List<Produto> saveAllProduto(List<Produto> produtos) {
+		if (produtos.size() > tamanhoMaximoLote) {
+			throw new LimiteLoteException("O lote deve conter no máximo " + tamanhoMaximoLote + " Produtos.");
+		}
+		produtos.forEach(this::esquecerSku);
+		List<Produto> produtosSalvos = produtoRepository.saveAll(produtos);
+		produtoViewService.atualizar(produtosSalvos);
+		produtoBuscaService.indexar(produtosSalvos);
+		catalogoSnapshotService.atualizar(produtosSalvos);
+		return produtosSalvos;
 	}
 
 	public Produto updateProduto(Produto produto) {
-		return produtoRepository.save(produto);
+		esquecerSku(produto);
+		Produto produtoSalvo = gravar(produto);
+		produtoBuscaService.indexar(produtoSalvo);
+		catalogoSnapshotService.atualizar(produtoSalvo);
+		return produtoSalvo;
 	}
 
 	public void deleteProduto(Integer id) {
-		produtoRepository.delete(produtoRepository.findById(id).get());
+		Produto produto = produtoRepository.findById(id).get();
+		esquecerSku(produto);
+		remover(produto);
+		produtoBuscaService.remover(id);
+		catalogoSnapshotService.remover(id);
 	}
 
 	public void deleteProduto(Produto produto) {
-		produtoRepository.delete(produto);
+		esquecerSku(produto);
+		remover(produto);
+		produtoBuscaService.remover(produto.getIdProduto());
+		catalogoSnapshotService.remover(produto.getIdProduto());
+	}
+
+	private Produto gravar(Produto produto) {
+		return transactionTemplate.execute(status -> {
+			Produto produtoSalvo = produtoRepository.save(produto);
+			produtoViewService.atualizar(produtoSalvo);
+			return produtoSalvo;
+		});
+	}
+
+	private void remover(Produto produto) {
+		transactionTemplate.executeWithoutResult(status -> {
+			produtoRepository.delete(produto);
+			produtoViewService.remover(produto.getIdProduto());
+			sincronizacaoService.registrarExclusao(SincronizacaoService.PRODUTO, produto.getIdProduto());
+		});
+	}
+
+	private void esquecerSku(Produto produto) {
+		if (produto.getSku() != null) {
+			skuCache.remove(produto.getSku());
+		}
 	}
 
 	private Produto produtoDTOtoEntity(ProdutoDTO produtoDTO) {
 		Produto produto = new Produto();
 		
 		if (produtoDTO.getCategoriaId() != null) {
-			produto.setCategoria(categoriaRepository.findById(produtoDTO.getCategoriaId()).get());
+			Categoria categoria = categoriaService.findCategoriaById(produtoDTO.getCategoriaId());
+			if (categoria == null) {
+				throw new NoSuchElementFoundException("Categoria de ID " + produtoDTO.getCategoriaId() + " não encontrada.");
+			}
+			produto.setCategoria(categoria);
 		}
 		if (produtoDTO.getFornecedorId() != null) {
-			produto.setFornecedor(fornecedorRepository.findById(produtoDTO.getFornecedorId()).get());
+			Fornecedor fornecedor = fornecedorService.findFornecedorById(produtoDTO.getFornecedorId());
+			if (fornecedor == null) {
+				throw new NoSuchElementFoundException("Fornecedor de ID " + produtoDTO.getFornecedorId() + " não encontrado.");
+			}
+			produto.setFornecedor(fornecedor);
 		}
 		
 		produto.setIdProduto(produtoDTO.getIdProduto());
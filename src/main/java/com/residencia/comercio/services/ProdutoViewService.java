@@ -0,0 +1,258 @@
+package com.residencia.comercio.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.residencia.comercio.dtos.ProdutoDTO;
+import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.entities.Produto;
+import com.residencia.comercio.entities.ProdutoView;
+import com.residencia.comercio.repositories.CategoriaRepository;
+import com.residencia.comercio.repositories.FornecedorRepository;
+import com.residencia.comercio.repositories.ProdutoViewRepository;
+import com.residencia.comercio.utils.Transacoes;
+
+@Service
+public class ProdutoViewService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProdutoViewService.class);
+
+	@Autowired
+	ProdutoViewRepository produtoViewRepository;
+
+	@Autowired
+	FornecedorRepository fornecedorRepository;
+
+	@Autowired
+	CategoriaRepository categoriaRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Value("${produto-view.propagacao.tamanho-lote:500}")
+	private int tamanhoLote;
+
+	private TransactionTemplate transacao;
+
+	private ExecutorService executor;
+
+	private final Set<Integer> fornecedoresPendentes = ConcurrentHashMap.newKeySet();
+
+	private final Set<Integer> categoriasPendentes = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void iniciar() {
+		transacao = new TransactionTemplate(transactionManager);
+		transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "produto-view");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	public ProdutoDTO findProdutoDTOById(Integer id) {
+		return produtoViewRepository.findProdutoDTOById(id).orElse(null);
+	}
+
+	public List<ProdutoDTO> findProdutoDTOPage(Integer idProduto, Pageable pageable) {
+		return produtoViewRepository.findProdutoDTOPage(idProduto, pageable);
+	}
+
+	public void atualizar(Produto produto) {
+		atualizar(Collections.singletonList(produto));
+	}
+
+	public void atualizar(Collection<Produto> produtos) {
+		List<Integer> ids = new ArrayList<>(produtos.size());
+		for (Produto produto : produtos) {
+			ids.add(produto.getIdProduto());
+		}
+		Map<Integer, ProdutoView> existentes = new HashMap<>();
+		for (ProdutoView view : produtoViewRepository.findAllById(ids)) {
+			existentes.put(view.getIdProduto(), view);
+		}
+
+		Map<Integer, String> nomesFornecedor = new HashMap<>();
+		Map<Integer, String> nomesCategoria = new HashMap<>();
+		List<ProdutoView> views = new ArrayList<>(produtos.size());
+		for (Produto produto : produtos) {
+			ProdutoView view = existentes.get(produto.getIdProduto());
+			if (view == null) {
+				view = new ProdutoView();
+				view.setIdProduto(produto.getIdProduto());
+			}
+			view.setSku(produto.getSku());
+			view.setNomeProduto(produto.getNomeProduto());
+			Integer idFornecedor = produto.getFornecedor() == null ? null : produto.getFornecedor().getIdFornecedor();
+			view.setFornecedorId(idFornecedor);
+			view.setFornecedorNome(idFornecedor == null ? null : nomesFornecedor.computeIfAbsent(idFornecedor,
+					id -> fornecedorRepository.findById(id).map(Fornecedor::getNomeFantasia).orElse(null)));
+			Integer idCategoria = produto.getCategoria() == null ? null : produto.getCategoria().getIdCategoria();
+			view.setCategoriaId(idCategoria);
+			view.setCategoriaNome(idCategoria == null ? null : nomesCategoria.computeIfAbsent(idCategoria,
+					id -> categoriaRepository.findById(id).map(Categoria::getNomeCategoria).orElse(null)));
+			views.add(view);
+		}
+		produtoViewRepository.saveAll(views);
+		Transacoes.aposCommit(() -> {
+			agendarFornecedores(new ArrayList<>(nomesFornecedor.keySet()));
+			agendarCategorias(new ArrayList<>(nomesCategoria.keySet()));
+		});
+	}
+
+	public void remover(Integer idProduto) {
+		if (produtoViewRepository.existsById(idProduto)) {
+			produtoViewRepository.deleteById(idProduto);
+		}
+	}
+
+	public void propagarFornecedores(Collection<Fornecedor> fornecedores) {
+		List<Integer> ids = new ArrayList<>(fornecedores.size());
+		for (Fornecedor fornecedor : fornecedores) {
+			ids.add(fornecedor.getIdFornecedor());
+		}
+		Transacoes.aposCommit(() -> agendarFornecedores(ids));
+	}
+
+	public void propagarCategorias(Collection<Categoria> categorias) {
+		List<Integer> ids = new ArrayList<>(categorias.size());
+		for (Categoria categoria : categorias) {
+			ids.add(categoria.getIdCategoria());
+		}
+		Transacoes.aposCommit(() -> agendarCategorias(ids));
+	}
+
+	private void agendarFornecedores(List<Integer> ids) {
+		agendar(ids, fornecedoresPendentes, lote -> produtoViewRepository.findFornecedorIdIn(lote),
+				this::propagarFornecedor);
+	}
+
+	private void agendarCategorias(List<Integer> ids) {
+		agendar(ids, categoriasPendentes, lote -> produtoViewRepository.findCategoriaIdIn(lote),
+				this::propagarCategoria);
+	}
+
+	private void agendar(List<Integer> ids, Set<Integer> pendentes, Function<List<Integer>, List<Integer>> referenciados,
+			Consumer<Integer> propagacao) {
+		List<Integer> novos = new ArrayList<>(ids.size());
+		for (Integer id : ids) {
+			if (id != null && pendentes.add(id)) {
+				novos.add(id);
+			}
+		}
+		if (novos.isEmpty()) {
+			return;
+		}
+		executor.execute(() -> {
+			for (int inicio = 0; inicio < novos.size(); inicio += tamanhoLote) {
+				List<Integer> lote = novos.subList(inicio, Math.min(novos.size(), inicio + tamanhoLote));
+				Set<Integer> comProdutos;
+				try {
+					comProdutos = new HashSet<>(transacao.execute(status -> referenciados.apply(lote)));
+				} catch (RuntimeException e) {
+					logger.warn("Falha ao propagar nomes para a produto_view: {}", e.getMessage());
+					comProdutos = new HashSet<>(lote);
+				}
+				for (Integer id : lote) {
+					if (comProdutos.contains(id)) {
+						propagacao.accept(id);
+					} else {
+						pendentes.remove(id);
+					}
+				}
+			}
+		});
+	}
+
+	private void propagarFornecedor(Integer idFornecedor) {
+		fornecedoresPendentes.remove(idFornecedor);
+		try {
+			String nome = transacao.execute(status -> fornecedorRepository.findById(idFornecedor)
+					.map(Fornecedor::getNomeFantasia).orElse(null));
+			String comparacao = nome == null ? "" : nome;
+			int atualizados = 0;
+			int cursor = 0;
+			List<Integer> ids;
+			do {
+				int ultimo = cursor;
+				ids = transacao.execute(status -> {
+					List<Integer> lote = produtoViewRepository.findIdProdutoDesatualizadoByFornecedorId(idFornecedor, comparacao, ultimo,
+							PageRequest.of(0, tamanhoLote));
+					if (!lote.isEmpty()) {
+						produtoViewRepository.updateFornecedorNome(idFornecedor, nome, lote);
+					}
+					return lote;
+				});
+				if (!ids.isEmpty()) {
+					atualizados += ids.size();
+					cursor = ids.get(ids.size() - 1);
+				}
+			} while (ids.size() == tamanhoLote);
+			logger.debug("Nome do Fornecedor {} propagado para {} Produtos.", idFornecedor, atualizados);
+		} catch (RuntimeException e) {
+			logger.warn("Falha ao propagar o nome do Fornecedor {}: {}", idFornecedor, e.getMessage());
+		}
+	}
+
+	private void propagarCategoria(Integer idCategoria) {
+		categoriasPendentes.remove(idCategoria);
+		try {
+			String nome = transacao.execute(status -> categoriaRepository.findById(idCategoria)
+					.map(Categoria::getNomeCategoria).orElse(null));
+			String comparacao = nome == null ? "" : nome;
+			int atualizados = 0;
+			int cursor = 0;
+			List<Integer> ids;
+			do {
+				int ultimo = cursor;
+				ids = transacao.execute(status -> {
+					List<Integer> lote = produtoViewRepository.findIdProdutoDesatualizadoByCategoriaId(idCategoria, comparacao, ultimo,
+							PageRequest.of(0, tamanhoLote));
+					if (!lote.isEmpty()) {
+						produtoViewRepository.updateCategoriaNome(idCategoria, nome, lote);
+					}
+					return lote;
+				});
+				if (!ids.isEmpty()) {
+					atualizados += ids.size();
+					cursor = ids.get(ids.size() - 1);
+				}
+			} while (ids.size() == tamanhoLote);
+			logger.debug("Nome da Categoria {} propagado para {} Produtos.", idCategoria, atualizados);
+		} catch (RuntimeException e) {
+			logger.warn("Falha ao propagar o nome da Categoria {}: {}", idCategoria, e.getMessage());
+		}
+	}
+}
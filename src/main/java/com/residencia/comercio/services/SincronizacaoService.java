@@ -0,0 +1,147 @@
+package com.residencia.comercio.services;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.residencia.comercio.dtos.AlteracoesDTO;
+import com.residencia.comercio.entities.Exclusao;
+import com.residencia.comercio.exceptions.NumberFormatException;
+import com.residencia.comercio.repositories.ExclusaoRepository;
+import com.residencia.comercio.utils.Paginacao;
+
+@Service
+public class SincronizacaoService {
+
+	public static final String PRODUTO = "produto";
+	public static final String FORNECEDOR = "fornecedor";
+	public static final String CATEGORIA = "categoria";
+
+	private static final int TAMANHO_CURSOR = 2 * (Long.BYTES + Integer.BYTES) + Integer.BYTES;
+
+	private static final String TRANSACAO_MAIS_ANTIGA = "select min(xact_start) from pg_stat_activity "
+			+ "where datname = current_database() and backend_xid is not null and pid <> pg_backend_pid()";
+
+	@Autowired
+	ExclusaoRepository exclusaoRepository;
+
+	@Autowired
+	Paginacao paginacao;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Value("${sincronizacao.margem:5s}")
+	private Duration margem;
+
+	private volatile Boolean postgres;
+
+	public interface ConsultaAlteracoes<T> {
+		List<T> buscar(Instant data, Integer id, Instant ate, Pageable pageable);
+	}
+
+	public void registrarExclusao(String recurso, Integer id) {
+		exclusaoRepository.save(new Exclusao(recurso, id));
+	}
+
+	public <T> AlteracoesDTO<T> alteracoes(String recurso, String since, String cursor, Integer tamanho,
+			ConsultaAlteracoes<T> consulta, Function<T, Instant> data, Function<T, Integer> id) {
+		int tamanhoPagina = paginacao.tamanho(tamanho);
+		Instant desde;
+		Instant ate;
+		Instant ultimaData;
+		Integer ultimoId;
+		List<Integer> removidos;
+		if (cursor == null || cursor.isBlank()) {
+			desde = desde(since);
+			ate = fimJanela();
+			if (ate.isBefore(desde)) {
+				ate = desde;
+			}
+			ultimaData = desde;
+			ultimoId = Integer.MAX_VALUE;
+			removidos = exclusaoRepository.findIdRegistroExcluido(recurso, desde, ate);
+		} else {
+			ByteBuffer buffer = lerCursor(cursor);
+			try {
+				ate = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+				ultimaData = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+			} catch (DateTimeException e) {
+				throw new NumberFormatException("Cursor de sincronização inválido.");
+			}
+			ultimoId = buffer.getInt();
+			removidos = Collections.emptyList();
+		}
+
+		List<T> itens = consulta.buscar(ultimaData, ultimoId, ate, paginacao.pageable(tamanhoPagina));
+		if (itens.size() <= tamanhoPagina) {
+			return new AlteracoesDTO<>(itens, removidos, null, ate);
+		}
+		List<T> conteudo = itens.subList(0, tamanhoPagina);
+		T ultimo = conteudo.get(tamanhoPagina - 1);
+		return new AlteracoesDTO<>(conteudo, removidos, escreverCursor(ate, data.apply(ultimo), id.apply(ultimo)),
+				null);
+	}
+
+	private Instant fimJanela() {
+		Instant fim = Instant.now();
+		Instant inicioTransacao = inicioTransacaoMaisAntiga();
+		if (inicioTransacao != null && inicioTransacao.isBefore(fim)) {
+			fim = inicioTransacao;
+		}
+		return fim.minus(margem);
+	}
+
+	private Instant inicioTransacaoMaisAntiga() {
+		if (postgres == null) {
+			postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> "PostgreSQL"
+					.equals(conexao.getMetaData().getDatabaseProductName()));
+		}
+		if (!postgres) {
+			return null;
+		}
+		Timestamp inicio = jdbcTemplate.queryForObject(TRANSACAO_MAIS_ANTIGA, Timestamp.class);
+		return inicio == null ? null : inicio.toInstant();
+	}
+
+	private Instant desde(String since) {
+		if (since == null || since.isBlank()) {
+			return Instant.EPOCH;
+		}
+		try {
+			return Instant.parse(since);
+		} catch (DateTimeParseException e) {
+			throw new NumberFormatException("Marca de sincronização inválida: " + since
+					+ ". Informe um instante ISO-8601, por exemplo 2022-06-01T12:00:00Z.");
+		}
+	}
+
+	private String escreverCursor(Instant ate, Instant data, Integer id) {
+		ByteBuffer buffer = ByteBuffer.allocate(TAMANHO_CURSOR);
+		buffer.putLong(ate.getEpochSecond()).putInt(ate.getNano());
+		buffer.putLong(data.getEpochSecond()).putInt(data.getNano());
+		buffer.putInt(id);
+		return paginacao.codificar(buffer.array());
+	}
+
+	private ByteBuffer lerCursor(String cursor) {
+		byte[] bytes = paginacao.decodificar(cursor);
+		if (bytes.length != TAMANHO_CURSOR) {
+			throw new NumberFormatException("Cursor de sincronização inválido.");
+		}
+		return ByteBuffer.wrap(bytes);
+	}
+}
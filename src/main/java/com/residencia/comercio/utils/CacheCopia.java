@@ -0,0 +1,82 @@
+package com.residencia.comercio.utils;
+
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.residencia.comercio.dtos.CacheEstatisticasDTO;
+
+public class CacheCopia implements Cache {
+
+	private final CaffeineCache cache;
+	private final UnaryOperator<Object> copia;
+
+	public CacheCopia(CaffeineCache cache, UnaryOperator<Object> copia) {
+		this.cache = cache;
+		this.copia = copia;
+	}
+
+	@Override
+	public String getName() {
+		return cache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return cache.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object chave) {
+		ValueWrapper valor = cache.get(chave);
+		return valor == null ? null : new SimpleValueWrapper(copiar(valor.get()));
+	}
+
+	@Override
+	public <T> T get(Object chave, Class<T> tipo) {
+		return tipo == null ? null : tipo.cast(copiar(cache.get(chave, tipo)));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object chave, Callable<T> carregador) {
+		return (T) copiar(cache.get(chave, () -> copiar(carregador.call())));
+	}
+
+	@Override
+	public void put(Object chave, Object valor) {
+		cache.put(chave, copiar(valor));
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object chave, Object valor) {
+		ValueWrapper existente = cache.putIfAbsent(chave, copiar(valor));
+		return existente == null ? null : new SimpleValueWrapper(copiar(existente.get()));
+	}
+
+	@Override
+	public void evict(Object chave) {
+		cache.evict(chave);
+		Transacoes.aposCommit(() -> cache.evict(chave));
+	}
+
+	@Override
+	public void clear() {
+		cache.clear();
+		Transacoes.aposCommit(cache::clear);
+	}
+
+	public CacheEstatisticasDTO estatisticas() {
+		CacheStats stats = cache.getNativeCache().stats();
+		return new CacheEstatisticasDTO(getName(), cache.getNativeCache().estimatedSize(), stats.hitCount(),
+				stats.missCount());
+	}
+
+	private Object copiar(Object valor) {
+		return valor == null ? null : copia.apply(valor);
+	}
+}
@@ -0,0 +1,80 @@
+package com.residencia.comercio.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CacheLru<K, V> {
+
+	private final int tamanhoMaximo;
+	private final LinkedHashMap<K, Entrada<V>> entradas;
+	private final AtomicLong acertos = new AtomicLong();
+	private final AtomicLong falhas = new AtomicLong();
+
+	public CacheLru(int tamanhoMaximo) {
+		this.tamanhoMaximo = tamanhoMaximo;
+		this.entradas = new LinkedHashMap<K, Entrada<V>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+				return size() > CacheLru.this.tamanhoMaximo;
+			}
+		};
+	}
+
+	public synchronized V get(K chave) {
+		Entrada<V> entrada = entradas.get(chave);
+		if (entrada == null) {
+			falhas.incrementAndGet();
+			return null;
+		}
+		if (entrada.expiraEm < System.currentTimeMillis()) {
+			entradas.remove(chave);
+			falhas.incrementAndGet();
+			return null;
+		}
+		acertos.incrementAndGet();
+		return entrada.valor;
+	}
+
+	public synchronized boolean containsKey(K chave) {
+		Entrada<V> entrada = entradas.get(chave);
+		return entrada != null && entrada.expiraEm >= System.currentTimeMillis();
+	}
+
+	public synchronized void put(K chave, V valor, long ttlMillis) {
+		long agora = System.currentTimeMillis();
+		entradas.put(chave, new Entrada<>(valor, ttlMillis > Long.MAX_VALUE - agora ? Long.MAX_VALUE : agora + ttlMillis));
+	}
+
+	public synchronized void remove(K chave) {
+		entradas.remove(chave);
+	}
+
+	public synchronized void clear() {
+		entradas.clear();
+	}
+
+	public synchronized int size() {
+		return entradas.size();
+	}
+
+	public long getAcertos() {
+		return acertos.get();
+	}
+
+	public long getFalhas() {
+		return falhas.get();
+	}
+
+	private static class Entrada<V> {
+		private final V valor;
+		private final long expiraEm;
+
+		private Entrada(V valor, long expiraEm) {
+			this.valor = valor;
+			this.expiraEm = expiraEm;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.residencia.comercio.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.residencia.comercio.dtos.ProdutoDTO;
+
+public final class CatalogoArquivo {
+
+	private static final int ASSINATURA = 0x43415431;
+	private static final int VERSAO = 2;
+	private static final int NULO = Integer.MIN_VALUE;
+
+	private CatalogoArquivo() {
+	}
+
+	public static void gravar(Path arquivo, Collection<ProdutoDTO> produtos) throws IOException {
+		Map<String, Integer> indices = new HashMap<>();
+		List<String> textos = new ArrayList<>();
+		ByteArrayOutputStream corpo = new ByteArrayOutputStream(64 * 1024);
+		DataOutputStream registros = new DataOutputStream(corpo);
+
+		registros.writeInt(produtos.size());
+		for (ProdutoDTO produto : produtos) {
+			escreverInteiro(registros, produto.getIdProduto());
+			escreverTexto(registros, produto.getSku(), indices, textos);
+			escreverTexto(registros, produto.getNomeProduto(), indices, textos);
+			escreverInteiro(registros, produto.getFornecedorId());
+			escreverTexto(registros, produto.getFornecedorNome(), indices, textos);
+			escreverInteiro(registros, produto.getCategoriaId());
+			escreverTexto(registros, produto.getCategoriaNome(), indices, textos);
+		}
+		registros.flush();
+
+		Files.createDirectories(arquivo.toAbsolutePath().getParent());
+		Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+		CRC32 crc = new CRC32();
+		try (OutputStream saida = Files.newOutputStream(temporario)) {
+			DataOutputStream dados = new DataOutputStream(
+					new CheckedOutputStream(new BufferedOutputStream(saida, 64 * 1024), crc));
+			dados.writeInt(ASSINATURA);
+			dados.writeInt(VERSAO);
+			dados.writeLong(System.currentTimeMillis());
+			dados.writeInt(textos.size());
+			for (String texto : textos) {
+				byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+				dados.writeInt(bytes.length);
+				dados.write(bytes);
+			}
+			corpo.writeTo(dados);
+			dados.flush();
+			new DataOutputStream(saida).writeInt((int) crc.getValue());
+		}
+		Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public static Conteudo ler(Path arquivo) throws IOException {
+		MappedByteBuffer mapa;
+		try (FileChannel canal = FileChannel.open(arquivo)) {
+			if (canal.size() < 24 || canal.size() > Integer.MAX_VALUE) {
+				throw new IOException("Tamanho inválido do arquivo de catálogo.");
+			}
+			mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+
+		ByteBuffer dados = mapa.duplicate();
+		dados.limit(mapa.capacity() - Integer.BYTES);
+		CRC32 crc = new CRC32();
+		crc.update(dados.duplicate());
+		if ((int) crc.getValue() != mapa.getInt(mapa.capacity() - Integer.BYTES)) {
+			throw new IOException("Checksum inválido do arquivo de catálogo.");
+		}
+		if (dados.getInt() != ASSINATURA || dados.getInt() != VERSAO) {
+			throw new IOException("Formato desconhecido do arquivo de catálogo.");
+		}
+		long geradoEm = dados.getLong();
+
+		String[] textos = new String[dados.getInt()];
+		for (int i = 0; i < textos.length; i++) {
+			byte[] bytes = new byte[dados.getInt()];
+			dados.get(bytes);
+			textos[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		List<ProdutoDTO> produtos = new ArrayList<>();
+		for (int i = dados.getInt(); i > 0; i--) {
+			produtos.add(new ProdutoDTO(lerInteiro(dados), lerTexto(dados, textos), lerTexto(dados, textos),
+					lerInteiro(dados), lerTexto(dados, textos), lerInteiro(dados), lerTexto(dados, textos)));
+		}
+		if (dados.hasRemaining()) {
+			throw new IOException("Conteúdo inesperado no fim do arquivo de catálogo.");
+		}
+		return new Conteudo(geradoEm, produtos);
+	}
+
+	private static Integer lerInteiro(ByteBuffer dados) {
+		int valor = dados.getInt();
+		return valor == NULO ? null : valor;
+	}
+
+	private static String lerTexto(ByteBuffer dados, String[] textos) {
+		int indice = dados.getInt();
+		return indice < 0 ? null : textos[indice];
+	}
+
+	private static void escreverInteiro(DataOutputStream saida, Integer valor) throws IOException {
+		saida.writeInt(valor == null ? NULO : valor);
+	}
+
+	private static void escreverTexto(DataOutputStream saida, String texto, Map<String, Integer> indices,
+			List<String> textos) throws IOException {
+		if (texto == null) {
+			saida.writeInt(-1);
+			return;
+		}
+		Integer indice = indices.get(texto);
+		if (indice == null) {
+			indice = textos.size();
+			indices.put(texto, indice);
+			textos.add(texto);
+		}
+		saida.writeInt(indice);
+	}
+
+	public static class Conteudo {
+		private final long geradoEm;
+		private final List<ProdutoDTO> produtos;
+
+		private Conteudo(long geradoEm, List<ProdutoDTO> produtos) {
+			this.geradoEm = geradoEm;
+			this.produtos = produtos;
+		}
+
+		public long getGeradoEm() {
+			return geradoEm;
+		}
+
+		public List<ProdutoDTO> getProdutos() {
+			return produtos;
+		}
+	}
+}
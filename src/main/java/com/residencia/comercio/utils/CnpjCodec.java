@@ -0,0 +1,100 @@
+package com.residencia.comercio.utils;
+
+public final class CnpjCodec {
+
+	public static final long INVALIDO = -1L;
+
+	private static final int DIGITOS = 14;
+	private static final int TAMANHO_MASCARA = 18;
+	private static final int[] PESOS_PRIMEIRO_DV = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+	private static final int[] PESOS_SEGUNDO_DV = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+
+	private CnpjCodec() {
+	}
+
+	public static long parse(CharSequence cnpj) {
+		if (cnpj == null) {
+			return INVALIDO;
+		}
+		int tamanho = cnpj.length();
+		boolean mascarado = tamanho == TAMANHO_MASCARA;
+		if (!mascarado && tamanho != DIGITOS) {
+			return INVALIDO;
+		}
+		if (mascarado && (cnpj.charAt(2) != '.' || cnpj.charAt(6) != '.' || cnpj.charAt(10) != '/'
+				|| cnpj.charAt(15) != '-')) {
+			return INVALIDO;
+		}
+
+		long valor = 0;
+		int indice = 0;
+		int somaPrimeiroDv = 0;
+		int somaSegundoDv = 0;
+		boolean digitosIguais = true;
+		char primeiro = 0;
+		for (int i = 0; i < tamanho; i++) {
+			if (mascarado && (i == 2 || i == 6 || i == 10 || i == 15)) {
+				continue;
+			}
+			char c = cnpj.charAt(i);
+			if (c < '0' || c > '9') {
+				return INVALIDO;
+			}
+			int digito = c - '0';
+			if (indice == 0) {
+				primeiro = c;
+			} else if (c != primeiro) {
+				digitosIguais = false;
+			}
+
+			if (indice < 12) {
+				somaPrimeiroDv += digito * PESOS_PRIMEIRO_DV[indice];
+				somaSegundoDv += digito * PESOS_SEGUNDO_DV[indice];
+			} else if (indice == 12) {
+				if (digito != digitoVerificador(somaPrimeiroDv)) {
+					return INVALIDO;
+				}
+				somaSegundoDv += digito * PESOS_SEGUNDO_DV[indice];
+			} else if (digito != digitoVerificador(somaSegundoDv)) {
+				return INVALIDO;
+			}
+
+			valor = valor * 10 + digito;
+			indice++;
+		}
+		return digitosIguais ? INVALIDO : valor;
+	}
+
+	public static boolean isValid(CharSequence cnpj) {
+		return parse(cnpj) != INVALIDO;
+	}
+
+	public static boolean isValidFormatted(CharSequence cnpj) {
+		return cnpj != null && cnpj.length() == TAMANHO_MASCARA && parse(cnpj) != INVALIDO;
+	}
+
+	public static String digits(long cnpj) {
+		char[] digitos = new char[DIGITOS];
+		for (int i = DIGITOS - 1; i >= 0; i--) {
+			digitos[i] = (char) ('0' + cnpj % 10);
+			cnpj /= 10;
+		}
+		return new String(digitos);
+	}
+
+	public static String format(long cnpj) {
+		String digitos = digits(cnpj);
+		return new StringBuilder(TAMANHO_MASCARA)
+				.append(digitos, 0, 2).append('.')
+				.append(digitos, 2, 5).append('.')
+				.append(digitos, 5, 8).append('/')
+				.append(digitos, 8, 12).append('-')
+				.append(digitos, 12, 14)
+				.toString();
+	}
+
+	private static int digitoVerificador(int soma) {
+		int resto = soma % 11;
+		return resto < 2 ? 0 : 11 - resto;
+	}
+}
@@ -0,0 +1,393 @@
+package com.residencia.comercio.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.residencia.comercio.dtos.SugestaoDTO;
+
+public class IndicePrefixo {
+
+	private static final int LIMITE_DELTA = 4096;
+
+	private static final Instantaneo VAZIO = new Instantaneo(new byte[0], new int[] { 0 }, new int[0], new int[0],
+			new String[0]);
+
+	private volatile Estado estado = new Estado(VAZIO, VAZIO, Collections.emptySet());
+
+	private final Set<Integer> presentes = new HashSet<>();
+
+	private volatile int documentos;
+
+	public synchronized void atualizar(Map<Integer, String> alterados, Collection<Integer> removidos) {
+		Set<Integer> modificados = new HashSet<>(removidos);
+		modificados.addAll(alterados.keySet());
+		List<Entrada> novas = new ArrayList<>();
+		alterados.forEach((id, nome) -> {
+			if (nome != null) {
+				gerarEntradas(id, nome, novas);
+			}
+		});
+
+		Estado anterior = estado;
+		Instantaneo delta = mesclar(anterior.delta, modificados, deEntradas(novas));
+		Set<Integer> substituidos = new HashSet<>(anterior.substituidos);
+		substituidos.addAll(modificados);
+		if (delta.ids.length + substituidos.size() > LIMITE_DELTA) {
+			estado = new Estado(mesclar(anterior.principal, substituidos, delta), VAZIO, Collections.emptySet());
+		} else {
+			estado = new Estado(anterior.principal, delta, Collections.unmodifiableSet(substituidos));
+		}
+
+		presentes.removeAll(removidos);
+		alterados.forEach((id, nome) -> {
+			if (nome != null) {
+				presentes.add(id);
+			} else {
+				presentes.remove(id);
+			}
+		});
+		documentos = presentes.size();
+	}
+
+	public int tamanho() {
+		return documentos;
+	}
+
+	public List<SugestaoDTO> sugerir(String prefixo, int limite) {
+		byte[] chave = Texto.normalizar(prefixo).stripLeading().getBytes(StandardCharsets.UTF_8);
+		List<SugestaoDTO> sugestoes = new ArrayList<>();
+		if (chave.length == 0 || limite < 1) {
+			return sugestoes;
+		}
+
+		Estado atual = estado;
+		int[] principais = new int[limite];
+		int quantidadePrincipal = atual.principal.melhores(chave, principais, atual.substituidos);
+		int[] recentes = new int[limite];
+		int quantidadeRecente = atual.delta.melhores(chave, recentes, Collections.emptySet());
+
+		int p = 0;
+		int r = 0;
+		while (sugestoes.size() < limite && (p < quantidadePrincipal || r < quantidadeRecente)) {
+			boolean usarRecente = p == quantidadePrincipal || (r < quantidadeRecente
+					&& comparar(atual.delta, recentes[r], atual.principal, principais[p]) < 0);
+			if (usarRecente) {
+				sugestoes.add(atual.delta.sugestao(recentes[r++]));
+			} else {
+				sugestoes.add(atual.principal.sugestao(principais[p++]));
+			}
+		}
+		return sugestoes;
+	}
+
+	private static int comparar(Instantaneo a, int i, Instantaneo b, int j) {
+		if (a.posicoes[i] != b.posicoes[j]) {
+			return Integer.compare(a.posicoes[i], b.posicoes[j]);
+		}
+		if (a.nomes[i].length() != b.nomes[j].length()) {
+			return Integer.compare(a.nomes[i].length(), b.nomes[j].length());
+		}
+		return Integer.compare(a.ids[i], b.ids[j]);
+	}
+
+	private static Instantaneo deEntradas(List<Entrada> entradas) {
+		entradas.sort((a, b) -> Arrays.compareUnsigned(a.chave, b.chave));
+		int totalBytes = 0;
+		for (Entrada entrada : entradas) {
+			totalBytes += entrada.chave.length;
+		}
+
+		byte[] chaves = new byte[totalBytes];
+		int[] inicios = new int[entradas.size() + 1];
+		int[] ids = new int[entradas.size()];
+		int[] posicoes = new int[entradas.size()];
+		String[] nomes = new String[entradas.size()];
+		for (int i = 0; i < entradas.size(); i++) {
+			Entrada entrada = entradas.get(i);
+			System.arraycopy(entrada.chave, 0, chaves, inicios[i], entrada.chave.length);
+			inicios[i + 1] = inicios[i] + entrada.chave.length;
+			ids[i] = entrada.id;
+			posicoes[i] = entrada.posicao;
+			nomes[i] = entrada.nome;
+		}
+		return new Instantaneo(chaves, inicios, ids, posicoes, nomes);
+	}
+
+	private static Instantaneo mesclar(Instantaneo base, Set<Integer> removidos, Instantaneo novos) {
+		boolean[] mantidas = new boolean[base.ids.length];
+		int total = novos.ids.length;
+		int totalBytes = novos.chaves.length;
+		for (int i = 0; i < base.ids.length; i++) {
+			mantidas[i] = removidos.isEmpty() || !removidos.contains(base.ids[i]);
+			if (mantidas[i]) {
+				total++;
+				totalBytes += base.inicios[i + 1] - base.inicios[i];
+			}
+		}
+
+		byte[] chaves = new byte[totalBytes];
+		int[] inicios = new int[total + 1];
+		int[] ids = new int[total];
+		int[] posicoes = new int[total];
+		String[] nomes = new String[total];
+		int velha = 0;
+		int nova = 0;
+		for (int i = 0; i < total; i++) {
+			while (velha < mantidas.length && !mantidas[velha]) {
+				velha++;
+			}
+			boolean usarNova = velha == mantidas.length || (nova < novos.ids.length
+					&& Arrays.compareUnsigned(novos.chaves, novos.inicios[nova], novos.inicios[nova + 1], base.chaves,
+							base.inicios[velha], base.inicios[velha + 1]) < 0);
+			Instantaneo origem = usarNova ? novos : base;
+			int indice = usarNova ? nova++ : velha++;
+			int tamanho = origem.inicios[indice + 1] - origem.inicios[indice];
+			System.arraycopy(origem.chaves, origem.inicios[indice], chaves, inicios[i], tamanho);
+			inicios[i + 1] = inicios[i] + tamanho;
+			ids[i] = origem.ids[indice];
+			posicoes[i] = origem.posicoes[indice];
+			nomes[i] = origem.nomes[indice];
+		}
+		return new Instantaneo(chaves, inicios, ids, posicoes, nomes);
+	}
+
+	private static void gerarEntradas(int id, String nome, List<Entrada> entradas) {
+		String normalizado = Texto.normalizar(nome);
+		int posicao = 0;
+		for (int i = 0; i < normalizado.length(); i++) {
+			boolean inicioPalavra = Character.isLetterOrDigit(normalizado.charAt(i))
+					&& (i == 0 || !Character.isLetterOrDigit(normalizado.charAt(i - 1)));
+			if (inicioPalavra) {
+				entradas.add(new Entrada(normalizado.substring(i).getBytes(StandardCharsets.UTF_8), id, posicao++,
+						nome));
+			}
+		}
+	}
+
+	private static class Estado {
+		private final Instantaneo principal;
+		private final Instantaneo delta;
+		private final Set<Integer> substituidos;
+
+		private Estado(Instantaneo principal, Instantaneo delta, Set<Integer> substituidos) {
+			this.principal = principal;
+			this.delta = delta;
+			this.substituidos = substituidos;
+		}
+	}
+
+	private static class Entrada {
+		private final byte[] chave;
+		private final int id;
+		private final int posicao;
+		private final String nome;
+
+		private Entrada(byte[] chave, int id, int posicao, String nome) {
+			this.chave = chave;
+			this.id = id;
+			this.posicao = posicao;
+			this.nome = nome;
+		}
+	}
+
+	private static class Instantaneo {
+		private final byte[] chaves;
+		private final int[] inicios;
+		private final int[] ids;
+		private final int[] posicoes;
+		private final String[] nomes;
+		private final int folhas;
+		private final int[] arvore;
+
+		private Instantaneo(byte[] chaves, int[] inicios, int[] ids, int[] posicoes, String[] nomes) {
+			this.chaves = chaves;
+			this.inicios = inicios;
+			this.ids = ids;
+			this.posicoes = posicoes;
+			this.nomes = nomes;
+
+			int folhas = 1;
+			while (folhas < ids.length) {
+				folhas <<= 1;
+			}
+			this.folhas = folhas;
+			this.arvore = new int[2 * folhas];
+			Arrays.fill(arvore, -1);
+			for (int i = 0; i < ids.length; i++) {
+				arvore[folhas + i] = i;
+			}
+			for (int no = folhas - 1; no > 0; no--) {
+				arvore[no] = melhor(arvore[2 * no], arvore[2 * no + 1]);
+			}
+		}
+
+		private SugestaoDTO sugestao(int indice) {
+			return new SugestaoDTO(ids[indice], nomes[indice]);
+		}
+
+		private int melhores(byte[] chave, int[] destino, Set<Integer> ignorados) {
+			int inicio = limiteInferior(chave);
+			int fim = limiteSuperior(chave, inicio);
+			if (inicio == fim) {
+				return 0;
+			}
+
+			int quantidade = 0;
+			Heap heap = new Heap(this, destino.length);
+			heap.adicionar(inicio, fim);
+			while (quantidade < destino.length && !heap.vazio()) {
+				int melhor = heap.removerMelhor();
+				boolean descartado = !ignorados.isEmpty() && ignorados.contains(ids[melhor]);
+				for (int j = 0; j < quantidade && !descartado; j++) {
+					descartado = ids[destino[j]] == ids[melhor];
+				}
+				if (!descartado) {
+					destino[quantidade++] = melhor;
+				}
+			}
+			return quantidade;
+		}
+
+		private int melhor(int a, int b) {
+			if (a < 0 || b < 0) {
+				return a < 0 ? b : a;
+			}
+			int comparacao = comparar(this, a, this, b);
+			if (comparacao != 0) {
+				return comparacao < 0 ? a : b;
+			}
+			return Math.min(a, b);
+		}
+
+		private int melhorNoIntervalo(int inicio, int fim) {
+			int resultado = -1;
+			for (int esquerda = inicio + folhas, direita = fim + folhas; esquerda < direita; esquerda >>= 1, direita >>= 1) {
+				if ((esquerda & 1) == 1) {
+					resultado = melhor(resultado, arvore[esquerda++]);
+				}
+				if ((direita & 1) == 1) {
+					resultado = melhor(resultado, arvore[--direita]);
+				}
+			}
+			return resultado;
+		}
+
+		private int limiteInferior(byte[] chave) {
+			int inicio = 0;
+			int fim = ids.length;
+			while (inicio < fim) {
+				int meio = (inicio + fim) >>> 1;
+				if (Arrays.compareUnsigned(chaves, inicios[meio], inicios[meio + 1], chave, 0, chave.length) < 0) {
+					inicio = meio + 1;
+				} else {
+					fim = meio;
+				}
+			}
+			return inicio;
+		}
+
+		private int limiteSuperior(byte[] chave, int inicio) {
+			int fim = ids.length;
+			while (inicio < fim) {
+				int meio = (inicio + fim) >>> 1;
+				if (comecaCom(meio, chave)) {
+					inicio = meio + 1;
+				} else {
+					fim = meio;
+				}
+			}
+			return inicio;
+		}
+
+		private boolean comecaCom(int indice, byte[] chave) {
+			int inicio = inicios[indice];
+			return inicios[indice + 1] - inicio >= chave.length
+					&& Arrays.equals(chaves, inicio, inicio + chave.length, chave, 0, chave.length);
+		}
+	}
+
+	private static class Heap {
+		private final Instantaneo instantaneo;
+		private int[] inicios;
+		private int[] fins;
+		private int[] melhores;
+		private int tamanho;
+
+		private Heap(Instantaneo instantaneo, int capacidade) {
+			this.instantaneo = instantaneo;
+			this.inicios = new int[capacidade + 1];
+			this.fins = new int[capacidade + 1];
+			this.melhores = new int[capacidade + 1];
+		}
+
+		private boolean vazio() {
+			return tamanho == 0;
+		}
+
+		private void adicionar(int inicio, int fim) {
+			if (inicio >= fim) {
+				return;
+			}
+			if (tamanho == melhores.length) {
+				inicios = Arrays.copyOf(inicios, tamanho * 2);
+				fins = Arrays.copyOf(fins, tamanho * 2);
+				melhores = Arrays.copyOf(melhores, tamanho * 2);
+			}
+			int melhor = instantaneo.melhorNoIntervalo(inicio, fim);
+			int posicao = tamanho++;
+			while (posicao > 0 && instantaneo.melhor(melhor, melhores[(posicao - 1) / 2]) == melhor) {
+				mover((posicao - 1) / 2, posicao);
+				posicao = (posicao - 1) / 2;
+			}
+			inicios[posicao] = inicio;
+			fins[posicao] = fim;
+			melhores[posicao] = melhor;
+		}
+
+		private int removerMelhor() {
+			int melhor = melhores[0];
+			int inicio = inicios[0];
+			int fim = fins[0];
+
+			tamanho--;
+			if (tamanho > 0) {
+				int ultimoInicio = inicios[tamanho];
+				int ultimoFim = fins[tamanho];
+				int ultimoMelhor = melhores[tamanho];
+				int posicao = 0;
+				while (2 * posicao + 1 < tamanho) {
+					int filho = 2 * posicao + 1;
+					if (filho + 1 < tamanho
+							&& instantaneo.melhor(melhores[filho + 1], melhores[filho]) == melhores[filho + 1]) {
+						filho++;
+					}
+					if (instantaneo.melhor(ultimoMelhor, melhores[filho]) == ultimoMelhor) {
+						break;
+					}
+					mover(filho, posicao);
+					posicao = filho;
+				}
+				inicios[posicao] = ultimoInicio;
+				fins[posicao] = ultimoFim;
+				melhores[posicao] = ultimoMelhor;
+			}
+
+			adicionar(inicio, melhor);
+			adicionar(melhor + 1, fim);
+			return melhor;
+		}
+
+		private void mover(int origem, int destino) {
+			inicios[destino] = inicios[origem];
+			fins[destino] = fins[origem];
+			melhores[destino] = melhores[origem];
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.residencia.comercio.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class IndiceProduto {
+
+	private static final int PESO_NOME = 1;
+	private static final int PESO_SKU = 3;
+	private static final int PESO_SKU_COMPLETO = 5;
+	private static final double FATOR_PREFIXO = 0.5;
+
+	private final TreeMap<String, Map<Integer, Integer>> termos = new TreeMap<>();
+	private final Map<Integer, Documento> documentos = new HashMap<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public void indexar(Integer id, String nome, String sku, Integer idCategoria, Integer idFornecedor) {
+		Map<String, Integer> pesos = new HashMap<>();
+		for (String termo : Texto.tokens(nome)) {
+			pesos.merge(termo, PESO_NOME, Integer::sum);
+		}
+		for (String termo : Texto.tokens(sku)) {
+			pesos.merge(termo, PESO_SKU, Integer::sum);
+		}
+		String skuCompleto = Texto.compactar(sku);
+		if (!skuCompleto.isEmpty()) {
+			pesos.merge(skuCompleto, PESO_SKU_COMPLETO, Math::max);
+		}
+
+		lock.writeLock().lock();
+		try {
+			removerDocumento(id);
+			pesos.forEach((termo, peso) -> termos.computeIfAbsent(termo, chave -> new HashMap<>()).put(id, peso));
+			documentos.put(id, new Documento(nome == null ? 0 : nome.length(), idCategoria, idFornecedor,
+					pesos.keySet()));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remover(Integer id) {
+		lock.writeLock().lock();
+		try {
+			removerDocumento(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int tamanho() {
+		lock.readLock().lock();
+		try {
+			return documentos.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<Integer> buscar(String consulta, Integer idCategoria, Integer idFornecedor, int limite) {
+		List<String> tokens = Texto.tokens(consulta);
+		if (tokens.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		lock.readLock().lock();
+		try {
+			Map<Integer, Double> pontuacoes = null;
+			for (String token : tokens) {
+				Map<Integer, Double> encontrados = pontuar(token, idCategoria, idFornecedor);
+				if (pontuacoes == null) {
+					pontuacoes = encontrados;
+				} else {
+					pontuacoes.keySet().retainAll(encontrados.keySet());
+					for (Map.Entry<Integer, Double> entrada : pontuacoes.entrySet()) {
+						entrada.setValue(entrada.getValue() + encontrados.get(entrada.getKey()));
+					}
+				}
+				if (pontuacoes.isEmpty()) {
+					return new ArrayList<>();
+				}
+			}
+
+			Map<Integer, Double> resultado = pontuacoes;
+			Comparator<Integer> ordem = Comparator.<Integer>comparingDouble(resultado::get).reversed()
+					.thenComparingInt(id -> documentos.get(id).tamanhoNome)
+					.thenComparing(Comparator.naturalOrder());
+			List<Integer> ids = new ArrayList<>(resultado.keySet());
+			ids.sort(ordem);
+			return new ArrayList<>(ids.subList(0, Math.min(limite, ids.size())));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Map<Integer, Double> pontuar(String token, Integer idCategoria, Integer idFornecedor) {
+		Map<Integer, Double> pontuacoes = new HashMap<>();
+		for (Map.Entry<String, Map<Integer, Integer>> termo : termos
+				.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+			double idf = Math.log(1.0 + (double) documentos.size() / termo.getValue().size());
+			double fator = termo.getKey().equals(token) ? 1.0 : FATOR_PREFIXO;
+			for (Map.Entry<Integer, Integer> posting : termo.getValue().entrySet()) {
+				Documento documento = documentos.get(posting.getKey());
+				if ((idCategoria == null || idCategoria.equals(documento.idCategoria))
+						&& (idFornecedor == null || idFornecedor.equals(documento.idFornecedor))) {
+					pontuacoes.merge(posting.getKey(), posting.getValue() * idf * fator, Math::max);
+				}
+			}
+		}
+		return pontuacoes;
+	}
+
+	private void removerDocumento(Integer id) {
+		Documento anterior = documentos.remove(id);
+		if (anterior == null) {
+			return;
+		}
+		for (String termo : anterior.termos) {
+			Map<Integer, Integer> postings = termos.get(termo);
+			if (postings != null) {
+				postings.remove(id);
+				if (postings.isEmpty()) {
+					termos.remove(termo);
+				}
+			}
+		}
+	}
+
+	private static class Documento {
+		private final int tamanhoNome;
+		private final Integer idCategoria;
+		private final Integer idFornecedor;
+		private final Set<String> termos;
+
+		private Documento(int tamanhoNome, Integer idCategoria, Integer idFornecedor, Set<String> termos) {
+			this.tamanhoNome = tamanhoNome;
+			this.idCategoria = idCategoria;
+			this.idFornecedor = idFornecedor;
+			this.termos = new HashSet<>(termos);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.residencia.comercio.utils;
+
+import java.util.Arrays;
+
+public class MapaInt<V> {
+
+	private static final int VAZIO = Integer.MIN_VALUE;
+
+	private final int[] chaves;
+	private final Object[] valores;
+	private final int mascara;
+	private int tamanho;
+
+	public MapaInt(int capacidade) {
+		int tamanhoTabela = 4;
+		while (tamanhoTabela < capacidade * 2) {
+			tamanhoTabela <<= 1;
+		}
+		chaves = new int[tamanhoTabela];
+		Arrays.fill(chaves, VAZIO);
+		valores = new Object[tamanhoTabela];
+		mascara = tamanhoTabela - 1;
+	}
+
+	private MapaInt(int[] chaves, Object[] valores, int tamanho) {
+		this.chaves = chaves;
+		this.valores = valores;
+		this.mascara = chaves.length - 1;
+		this.tamanho = tamanho;
+	}
+
+	public MapaInt<V> copia(int capacidade) {
+		if (capacidade * 2 <= chaves.length) {
+			return new MapaInt<>(chaves.clone(), valores.clone(), tamanho);
+		}
+		MapaInt<V> copia = new MapaInt<>(Math.max(capacidade, tamanho * 2));
+		forEach(copia::put);
+		return copia;
+	}
+
+	public void put(int chave, V valor) {
+		if (chave == VAZIO || valor == null) {
+			throw new IllegalArgumentException("Chave ou valor inválido.");
+		}
+		int posicao = posicao(chave);
+		if (chaves[posicao] == VAZIO) {
+			if (tamanho * 2 >= chaves.length) {
+				throw new IllegalStateException("Capacidade do mapa esgotada.");
+			}
+			chaves[posicao] = chave;
+			tamanho++;
+		}
+		valores[posicao] = valor;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int chave) {
+		int posicao = posicao(chave);
+		return chaves[posicao] == chave ? (V) valores[posicao] : null;
+	}
+
+	public void remover(int chave) {
+		if (chave == VAZIO) {
+			return;
+		}
+		int vazio = posicao(chave);
+		if (chaves[vazio] != chave) {
+			return;
+		}
+		int atual = vazio;
+		while (true) {
+			atual = (atual + 1) & mascara;
+			if (chaves[atual] == VAZIO) {
+				break;
+			}
+			int inicial = inicial(chaves[atual]);
+			if (((atual - inicial) & mascara) >= ((atual - vazio) & mascara)) {
+				chaves[vazio] = chaves[atual];
+				valores[vazio] = valores[atual];
+				vazio = atual;
+			}
+		}
+		chaves[vazio] = VAZIO;
+		valores[vazio] = null;
+		tamanho--;
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	public int[] chaves() {
+		int[] resultado = new int[tamanho];
+		int i = 0;
+		for (int chave : chaves) {
+			if (chave != VAZIO) {
+				resultado[i++] = chave;
+			}
+		}
+		return resultado;
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEach(Visitante<V> visitante) {
+		for (int i = 0; i < chaves.length; i++) {
+			if (chaves[i] != VAZIO) {
+				visitante.visitar(chaves[i], (V) valores[i]);
+			}
+		}
+	}
+
+	private int inicial(int chave) {
+		int hash = chave * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mascara;
+	}
+
+	private int posicao(int chave) {
+		int posicao = inicial(chave);
+		while (chaves[posicao] != VAZIO && chaves[posicao] != chave) {
+			posicao = (posicao + 1) & mascara;
+		}
+		return posicao;
+	}
+
+	public interface Visitante<V> {
+		void visitar(int chave, V valor);
+	}
+}
@@ -0,0 +1,114 @@
+package com.residencia.comercio.utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.residencia.comercio.dtos.PaginaDTO;
+import com.residencia.comercio.dtos.ResultadoLoteDTO;
+import com.residencia.comercio.exceptions.LimiteLoteException;
+import com.residencia.comercio.exceptions.NumberFormatException;
+
+@Component
+public class Paginacao {
+
+	@Value("${paginacao.tamanho-padrao:20}")
+	private int tamanhoPadrao;
+
+	@Value("${paginacao.tamanho-maximo:100}")
+	private int tamanhoMaximo;
+
+	@Value("${lote.consulta.tamanho-maximo:500}")
+	private int tamanhoMaximoLote;
+
+	public int tamanho(Integer tamanho) {
+		if (tamanho == null || tamanho < 1) {
+			return tamanhoPadrao;
+		}
+		return Math.min(tamanho, tamanhoMaximo);
+	}
+
+	public Pageable pageable(int tamanho) {
+		return PageRequest.of(0, tamanho + 1);
+	}
+
+	public Integer cursorParaId(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0;
+		}
+		byte[] bytes = decodificar(cursor);
+		if (bytes.length != Integer.BYTES) {
+			throw new NumberFormatException("Cursor de paginação inválido.");
+		}
+		return ByteBuffer.wrap(bytes).getInt();
+	}
+
+	public String idParaCursor(Integer id) {
+		return codificar(ByteBuffer.allocate(Integer.BYTES).putInt(id).array());
+	}
+
+	public String codificar(byte[] bytes) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	public byte[] decodificar(String cursor) {
+		try {
+			return Base64.getUrlDecoder().decode(cursor);
+		} catch (IllegalArgumentException e) {
+			throw new NumberFormatException("Cursor de paginação inválido.");
+		}
+	}
+
+	public <T> PaginaDTO<T> montarPagina(List<T> itens, int tamanho, Function<T, Integer> id) {
+		if (itens.size() <= tamanho) {
+			return new PaginaDTO<>(itens, null);
+		}
+		List<T> conteudo = itens.subList(0, tamanho);
+		return new PaginaDTO<>(conteudo, idParaCursor(id.apply(conteudo.get(tamanho - 1))));
+	}
+
+	public Set<Integer> idsDoLote(List<Integer> ids) {
+		Set<Integer> unicos = new LinkedHashSet<>();
+		for (Integer id : ids) {
+			if (id != null) {
+				unicos.add(id);
+			}
+		}
+		if (unicos.isEmpty()) {
+			throw new LimiteLoteException("Informe ao menos um ID.");
+		}
+		if (unicos.size() > tamanhoMaximoLote) {
+			throw new LimiteLoteException("A consulta deve conter no máximo " + tamanhoMaximoLote + " IDs.");
+		}
+		return unicos;
+	}
+
+	public <T> ResultadoLoteDTO<T> montarLote(Set<Integer> ids, List<T> encontrados, Function<T, Integer> id) {
+		Map<Integer, T> porId = new HashMap<>();
+		for (T item : encontrados) {
+			porId.put(id.apply(item), item);
+		}
+		List<T> conteudo = new ArrayList<>(encontrados.size());
+		List<Integer> naoEncontrados = new ArrayList<>();
+		for (Integer chave : ids) {
+			T item = porId.get(chave);
+			if (item == null) {
+				naoEncontrados.add(chave);
+			} else {
+				conteudo.add(item);
+			}
+		}
+		return new ResultadoLoteDTO<>(conteudo, naoEncontrados);
+	}
+}
@@ -0,0 +1,122 @@
+package com.residencia.comercio.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.core.env.PropertyResolver;
+
+import com.residencia.comercio.dtos.CacheEstatisticasDTO;
+
+public class RegioesCacheLocal extends RegionFactoryTemplate {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient PropertyResolver propriedades;
+	private final transient Map<String, Regiao> regioes = new ConcurrentHashMap<>();
+
+	public RegioesCacheLocal(PropertyResolver propriedades) {
+		this.propriedades = propriedades;
+	}
+
+	@Override
+	protected void prepareForUse(SessionFactoryOptions settings, @SuppressWarnings("rawtypes") Map configValues) {
+	}
+
+	@Override
+	protected void releaseFromUse() {
+		regioes.values().forEach(Regiao::evictData);
+		regioes.clear();
+	}
+
+	@Override
+	protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		return criarRegiao(regionConfig.getRegionName());
+	}
+
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return criarRegiao(regionName);
+	}
+
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		Regiao regiao = new Regiao(regionName, Integer.MAX_VALUE, Long.MAX_VALUE);
+		regioes.put(regionName, regiao);
+		return regiao;
+	}
+
+	public List<CacheEstatisticasDTO> estatisticas() {
+		List<CacheEstatisticasDTO> estatisticas = new ArrayList<>();
+		for (Regiao regiao : regioes.values()) {
+			estatisticas.add(new CacheEstatisticasDTO("hibernate:" + regiao.nome, regiao.entradas.size(),
+					regiao.entradas.getAcertos(), regiao.entradas.getFalhas()));
+		}
+		return estatisticas;
+	}
+
+	private Regiao criarRegiao(String nome) {
+		int tamanhoMaximo = propriedades.getProperty("cache.hibernate.regioes." + nome + ".tamanho-maximo",
+				Integer.class, propriedades.getProperty("cache.hibernate.tamanho-maximo", Integer.class, 1000));
+		Duration ttl = propriedades.getProperty("cache.hibernate.regioes." + nome + ".ttl", Duration.class,
+				propriedades.getProperty("cache.hibernate.ttl", Duration.class, Duration.ofHours(1)));
+		Regiao regiao = new Regiao(nome, tamanhoMaximo, ttl.toMillis());
+		regioes.put(nome, regiao);
+		return regiao;
+	}
+
+	private static class Regiao implements DomainDataStorageAccess {
+		private final String nome;
+		private final CacheLru<Object, Object> entradas;
+		private final long ttlMillis;
+
+		private Regiao(String nome, int tamanhoMaximo, long ttlMillis) {
+			this.nome = nome;
+			this.entradas = new CacheLru<>(tamanhoMaximo);
+			this.ttlMillis = ttlMillis;
+		}
+
+		@Override
+		public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+			return entradas.get(key);
+		}
+
+		@Override
+		public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+			entradas.put(key, value, ttlMillis);
+		}
+
+		@Override
+		public boolean contains(Object key) {
+			return entradas.containsKey(key);
+		}
+
+		@Override
+		public void evictData() {
+			entradas.clear();
+		}
+
+		@Override
+		public void evictData(Object key) {
+			entradas.remove(key);
+		}
+
+		@Override
+		public void release() {
+			entradas.clear();
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.residencia.comercio.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class Texto {
+
+	private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Set<String> STOPWORDS = Set.of("a", "o", "as", "os", "e", "de", "da", "do", "das", "dos",
+			"em", "na", "no", "com", "para", "por", "um", "uma");
+
+	private Texto() {
+	}
+
+	public static String normalizar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		return MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+				.toLowerCase(Locale.ROOT);
+	}
+
+	public static List<String> tokens(String texto) {
+		Set<String> tokens = new LinkedHashSet<>();
+		for (String token : SEPARADORES.split(normalizar(texto))) {
+			if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+				tokens.add(token);
+			}
+		}
+		return new ArrayList<>(tokens);
+	}
+
+	public static String compactar(String texto) {
+		return SEPARADORES.matcher(normalizar(texto)).replaceAll("");
+	}
+}
@@ -0,0 +1,42 @@
+package com.residencia.comercio.utils;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucket {
+
+	private final long capacidade;
+	private final double tokensPorNano;
+	private double tokens;
+	private long ultimaRecarga;
+
+	public TokenBucket(long capacidade, long tokensPorMinuto) {
+		this.capacidade = capacidade;
+		this.tokensPorNano = tokensPorMinuto / (double) TimeUnit.MINUTES.toNanos(1);
+		this.tokens = capacidade;
+		this.ultimaRecarga = System.nanoTime();
+	}
+
+	public boolean adquirir() {
+		try {
+			long espera;
+			while ((espera = tentarAdquirir()) > 0) {
+				TimeUnit.NANOSECONDS.sleep(espera);
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private synchronized long tentarAdquirir() {
+		long agora = System.nanoTime();
+		tokens = Math.min(capacidade, tokens + (agora - ultimaRecarga) * tokensPorNano);
+		ultimaRecarga = agora;
+		if (tokens >= 1) {
+			tokens -= 1;
+			return 0;
+		}
+		return (long) Math.ceil((1 - tokens) / tokensPorNano);
+	}
+}
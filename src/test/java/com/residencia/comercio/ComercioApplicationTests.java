@@ -3,7 +3,7 @@ package com.residencia.comercio;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "files.folder.path = target/files")
 class ComercioApplicationTests {
 
 	@Test
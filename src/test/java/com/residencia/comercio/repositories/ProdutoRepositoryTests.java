@@ -0,0 +1,123 @@
+package com.residencia.comercio.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.entities.Fornecedor;
+import com.residencia.comercio.entities.Produto;
+
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto = create-drop",
+		"spring.jpa.properties.hibernate.dialect = org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics = true" })
+class ProdutoRepositoryTests {
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Autowired
+	ProdutoRepository produtoRepository;
+
+	private Statistics statistics;
+
+	private int sequencia;
+
+	@BeforeEach
+	void iniciarEstatisticas() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+	}
+
+	@Test
+	void listagemDeProdutosExecutaUmaUnicaConsulta() {
+		inserirProdutos(5);
+		long consultasCom5 = contarConsultasDaListagem();
+
+		inserirProdutos(50);
+		long consultasCom55 = contarConsultasDaListagem();
+
+		assertEquals(1, consultasCom5);
+		assertEquals(consultasCom5, consultasCom55);
+	}
+
+	@Test
+	void buscaPorIdCarregaFornecedorECategoriaNaMesmaConsulta() {
+		Integer idProduto = inserirProdutos(1).get(0).getIdProduto();
+		entityManager.clear();
+		statistics.clear();
+
+		Produto produto = produtoRepository.findById(idProduto).get();
+		produto.getFornecedor().getNomeFantasia();
+		produto.getCategoria().getNomeCategoria();
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void buscaPorListaDeIdsExecutaUmaUnicaConsulta() {
+		List<Integer> ids = new ArrayList<>();
+		for (Produto produto : inserirProdutos(20)) {
+			ids.add(produto.getIdProduto());
+		}
+		entityManager.clear();
+		statistics.clear();
+
+		List<Produto> produtos = produtoRepository.findAllById(ids);
+		for (Produto produto : produtos) {
+			produto.getFornecedor().getNomeFantasia();
+			produto.getCategoria().getNomeCategoria();
+		}
+
+		assertEquals(20, produtos.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	private long contarConsultasDaListagem() {
+		entityManager.clear();
+		statistics.clear();
+
+		List<Produto> produtos = produtoRepository.findByIdProdutoGreaterThanOrderByIdProdutoAsc(0,
+				PageRequest.of(0, 1000));
+		for (Produto produto : produtos) {
+			produto.getFornecedor().getNomeFantasia();
+			produto.getCategoria().getNomeCategoria();
+		}
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private List<Produto> inserirProdutos(int quantidade) {
+		List<Produto> produtos = new ArrayList<>();
+		for (int i = 0; i < quantidade; i++, sequencia++) {
+			Fornecedor fornecedor = new Fornecedor();
+			fornecedor.setCnpj(String.format("11.222.%03d/0001-81", sequencia));
+			fornecedor.setNomeFantasia("Fornecedor " + i);
+			entityManager.persist(fornecedor);
+
+			Categoria categoria = new Categoria();
+			categoria.setNomeCategoria("Categoria " + i);
+			entityManager.persist(categoria);
+
+			Produto produto = new Produto();
+			produto.setSku("SKU-" + sequencia);
+			produto.setNomeProduto("Produto " + i);
+			produto.setFornecedor(fornecedor);
+			produto.setCategoria(categoria);
+			produtos.add(entityManager.persist(produto));
+		}
+		entityManager.flush();
+		return produtos;
+	}
+}
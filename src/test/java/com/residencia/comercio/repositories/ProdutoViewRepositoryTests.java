@@ -0,0 +1,80 @@
+package com.residencia.comercio.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.residencia.comercio.entities.ProdutoView;
+
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto = create-drop",
+		"spring.jpa.properties.hibernate.dialect = org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics = true" })
+class ProdutoViewRepositoryTests {
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Autowired
+	ProdutoViewRepository produtoViewRepository;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void iniciarEstatisticas() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void gravacaoDeNovasLinhasNaoConsultaAntesDeInserir() {
+		produtoViewRepository.saveAll(novasViews(1, 50));
+		entityManager.flush();
+
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(50, statistics.getEntityInsertCount());
+	}
+
+	@Test
+	void atualizacaoDeLinhasCarregadasNaoConsultaNovamente() {
+		produtoViewRepository.saveAll(novasViews(1, 20));
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+
+		List<Integer> ids = new ArrayList<>();
+		for (int id = 1; id <= 20; id++) {
+			ids.add(id);
+		}
+		List<ProdutoView> views = produtoViewRepository.findAllById(ids);
+		views.forEach(view -> view.setNomeProduto(view.getNomeProduto() + " alterado"));
+		produtoViewRepository.saveAll(views);
+		entityManager.flush();
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(20, statistics.getEntityUpdateCount());
+	}
+
+	private List<ProdutoView> novasViews(int primeiro, int quantidade) {
+		List<ProdutoView> views = new ArrayList<>();
+		for (int id = primeiro; id < primeiro + quantidade; id++) {
+			ProdutoView view = new ProdutoView();
+			view.setIdProduto(id);
+			view.setSku("SKU-" + id);
+			view.setNomeProduto("Produto " + id);
+			views.add(view);
+		}
+		return views;
+	}
+}
@@ -0,0 +1,95 @@
+package com.residencia.comercio.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.residencia.comercio.dtos.CnpjDTO;
+import com.residencia.comercio.services.CnpjCacheService.Resultado;
+
+class CnpjCacheServiceTests {
+
+	private static final int TAMANHO_MAXIMO_DISCO = 100;
+
+	@TempDir
+	Path diretorio;
+
+	private CnpjCacheService cnpjCacheService;
+
+	@BeforeEach
+	void iniciar() {
+		cnpjCacheService = novoServico();
+	}
+
+	@AfterEach
+	void encerrar() throws IOException {
+		cnpjCacheService.encerrar();
+	}
+
+	@Test
+	void indiceEmDiscoRespeitaOTamanhoMaximo() throws IOException {
+		for (long cnpj = 1; cnpj <= 5000; cnpj++) {
+			cnpjCacheService.put(cnpj, Resultado.NAO_ENCONTRADO);
+		}
+
+		assertTrue(tamanhoDisco(cnpjCacheService) <= TAMANHO_MAXIMO_DISCO);
+		assertTrue(linhasArquivo() <= 2 * TAMANHO_MAXIMO_DISCO + 1000);
+
+		cnpjCacheService.encerrar();
+		cnpjCacheService = novoServico();
+		assertTrue(cnpjCacheService.get(5000).isEmCache());
+		assertFalse(cnpjCacheService.get(1).isEmCache());
+	}
+
+	@Test
+	void compactaOArquivoDuranteAExecucao() throws IOException {
+		for (int i = 0; i < 2000; i++) {
+			cnpjCacheService.put(11222333000181L, Resultado.encontrado(cnpj("versão " + i)));
+		}
+		cnpjCacheService.put(45997418000153L, Resultado.NAO_ENCONTRADO);
+
+		assertTrue(linhasArquivo() < 1000);
+		Resultado resultado = cnpjCacheService.get(11222333000181L);
+		assertTrue(resultado.isEncontrado());
+		assertEquals("versão 1999", resultado.getCnpjDTO().getSituacao());
+		assertEquals(1L, cnpjCacheService.estatisticas().get(1).getAcertos());
+	}
+
+	private CnpjCacheService novoServico() {
+		CnpjCacheService servico = new CnpjCacheService();
+		servico.objectMapper = new ObjectMapper();
+		ReflectionTestUtils.setField(servico, "tamanhoMaximo", 1);
+		ReflectionTestUtils.setField(servico, "ttl", Duration.ofHours(24));
+		ReflectionTestUtils.setField(servico, "ttlNegativo", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(servico, "arquivo", diretorio.resolve("cnpj-cache.log").toString());
+		ReflectionTestUtils.setField(servico, "tamanhoMaximoDisco", TAMANHO_MAXIMO_DISCO);
+		servico.iniciar();
+		return servico;
+	}
+
+	private long tamanhoDisco(CnpjCacheService servico) {
+		return servico.estatisticas().get(1).getTamanho();
+	}
+
+	private long linhasArquivo() throws IOException {
+		return Files.readAllLines(diretorio.resolve("cnpj-cache.log")).size();
+	}
+
+	private CnpjDTO cnpj(String situacao) {
+		CnpjDTO cnpjDTO = new CnpjDTO();
+		cnpjDTO.setSituacao(situacao);
+		return cnpjDTO;
+	}
+}
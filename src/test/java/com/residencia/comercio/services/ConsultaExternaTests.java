@@ -0,0 +1,202 @@
+package com.residencia.comercio.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.residencia.comercio.configuration.ConsultaExternaConfig;
+import com.residencia.comercio.dtos.CepDTO;
+import com.residencia.comercio.dtos.CnpjDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class ConsultaExternaTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConsultaExternaTests.class);
+
+	private static final int CHAMADAS = 200;
+	private static final int CONEXOES_POR_HOST = 4;
+	private static final int CONSULTAS_CONCORRENTES = 16;
+
+	private String nodelayAnterior;
+	private HttpServer stub;
+	private Set<Integer> portasClientes = ConcurrentHashMap.newKeySet();
+	private CloseableHttpClient httpClient;
+	private FornecedorService fornecedorService;
+
+	@BeforeEach
+	void iniciarStub() throws IOException {
+		nodelayAnterior = System.setProperty("sun.net.httpserver.nodelay", "true");
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/v1/cnpj/", exchange -> responder(exchange,
+				"{\"cnpj\":\"11.222.333/0001-81\",\"nome\":\"EMPRESA TESTE\",\"abertura\":\"01/01/2000\"}"));
+		stub.createContext("/ws/", exchange -> responder(exchange,
+				"{\"cep\":\"25600-000\",\"localidade\":\"Petrópolis\",\"uf\":\"RJ\"}"));
+		stub.start();
+
+		String base = "http://127.0.0.1:" + stub.getAddress().getPort();
+		ConsultaExternaConfig config = new ConsultaExternaConfig();
+		httpClient = config.consultaExternaHttpClient(10, CONEXOES_POR_HOST, 1000, 1000, 1000, 30000);
+
+		CnpjCacheService cnpjCacheService = new CnpjCacheService();
+		ReflectionTestUtils.setField(cnpjCacheService, "tamanhoMaximo", 0);
+		ReflectionTestUtils.setField(cnpjCacheService, "ttl", Duration.ZERO);
+		ReflectionTestUtils.setField(cnpjCacheService, "ttlNegativo", Duration.ZERO);
+		cnpjCacheService.iniciar();
+
+		fornecedorService = new FornecedorService();
+		ReflectionTestUtils.setField(fornecedorService, "cnpjCacheService", cnpjCacheService);
+		ReflectionTestUtils.setField(fornecedorService, "tamanhoMaximoCep", 0);
+		ReflectionTestUtils.setField(fornecedorService, "ttlCep", Duration.ZERO);
+		fornecedorService.iniciarCacheCep();
+		ReflectionTestUtils.setField(fornecedorService, "consultaExternaRestTemplate",
+				config.consultaExternaRestTemplate(httpClient));
+		ReflectionTestUtils.setField(fornecedorService, "receitawsUrl", base + "/v1/cnpj/{cnpj}");
+		ReflectionTestUtils.setField(fornecedorService, "viacepUrl", base + "/ws/{cep}/json/");
+	}
+
+	@AfterEach
+	void pararStub() throws IOException {
+		httpClient.close();
+		stub.stop(0);
+		if (nodelayAnterior == null) {
+			System.clearProperty("sun.net.httpserver.nodelay");
+		} else {
+			System.setProperty("sun.net.httpserver.nodelay", nodelayAnterior);
+		}
+	}
+
+	@Test
+	void consultasReutilizamConexoesDoPool() {
+		long inicio = System.nanoTime();
+		for (int i = 0; i < CHAMADAS; i++) {
+			CnpjDTO cnpjDTO = fornecedorService.getCnpjDTOFromExternal("11222333000181");
+			CepDTO cepDTO = fornecedorService.getCepDTOFromExternal("25600000");
+			assertEquals("EMPRESA TESTE", cnpjDTO.getNome());
+			assertEquals("RJ", cepDTO.getUf());
+		}
+		long mediaPool = (System.nanoTime() - inicio) / (CHAMADAS * 2);
+
+		assertTrue(portasClientes.size() <= CONEXOES_POR_HOST,
+				"Esperado no máximo " + CONEXOES_POR_HOST + " conexões, abertas " + portasClientes.size());
+
+		String base = "http://127.0.0.1:" + stub.getAddress().getPort();
+		inicio = System.nanoTime();
+		for (int i = 0; i < CHAMADAS; i++) {
+			new RestTemplate().getForObject(base + "/v1/cnpj/11222333000181", CnpjDTO.class);
+			new RestTemplate().getForObject(base + "/ws/25600000/json/", CepDTO.class);
+		}
+		long mediaSemPool = (System.nanoTime() - inicio) / (CHAMADAS * 2);
+
+		logger.debug("Latência média por consulta: pool {} us, RestTemplate por chamada {} us", mediaPool / 1000,
+				mediaSemPool / 1000);
+	}
+
+	@Test
+	void consultasConcorrentesAoMesmoCepFazemUmaUnicaChamada() throws Exception {
+		AtomicInteger chamadas = new AtomicInteger();
+		CountDownLatch liberar = new CountDownLatch(1);
+		usarCepLento(chamadas, liberar, 200);
+
+		for (Future<CepDTO> resultado : consultarCepConcorrente(liberar)) {
+			assertEquals("RJ", resultado.get(10, TimeUnit.SECONDS).getUf());
+		}
+		assertEquals(1, chamadas.get());
+	}
+
+	@Test
+	void falhaDaConsultaCompartilhadaChegaATodosQueAguardam() throws Exception {
+		AtomicInteger chamadas = new AtomicInteger();
+		CountDownLatch liberar = new CountDownLatch(1);
+		usarCepLento(chamadas, liberar, 500);
+
+		for (Future<CepDTO> resultado : consultarCepConcorrente(liberar)) {
+			ExecutionException e = assertThrows(ExecutionException.class, () -> resultado.get(10, TimeUnit.SECONDS));
+			assertInstanceOf(HttpServerErrorException.class, e.getCause());
+		}
+		assertEquals(1, chamadas.get());
+	}
+
+	private void usarCepLento(AtomicInteger chamadas, CountDownLatch liberar, int status) {
+		stub.createContext("/lento/", exchange -> {
+			chamadas.incrementAndGet();
+			try {
+				liberar.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			responder(exchange, status, "{\"cep\":\"25600-000\",\"localidade\":\"Petrópolis\",\"uf\":\"RJ\"}");
+		});
+		ReflectionTestUtils.setField(fornecedorService, "viacepUrl",
+				"http://127.0.0.1:" + stub.getAddress().getPort() + "/lento/{cep}/json/");
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Future<CepDTO>> consultarCepConcorrente(CountDownLatch liberar) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(CONSULTAS_CONCORRENTES);
+		try {
+			List<Future<CepDTO>> resultados = new ArrayList<>();
+			for (int i = 0; i < CONSULTAS_CONCORRENTES; i++) {
+				resultados.add(executor.submit(() -> fornecedorService.getCepDTOFromExternal("25600-000")));
+			}
+			Map<String, CompletableFuture<CepDTO>> emAndamento = (Map<String, CompletableFuture<CepDTO>>) ReflectionTestUtils
+					.getField(fornecedorService, "cepsEmAndamento");
+			long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (System.nanoTime() < limite) {
+				CompletableFuture<CepDTO> consulta = emAndamento.get("25600000");
+				if (consulta != null && consulta.getNumberOfDependents() == CONSULTAS_CONCORRENTES - 1) {
+					break;
+				}
+				Thread.sleep(1);
+			}
+			liberar.countDown();
+			return resultados;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private void responder(HttpExchange exchange, String json) throws IOException {
+		responder(exchange, 200, json);
+	}
+
+	private void responder(HttpExchange exchange, int status, String json) throws IOException {
+		portasClientes.add(exchange.getRemoteAddress().getPort());
+		byte[] corpo = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, corpo.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(corpo);
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package com.residencia.comercio.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.residencia.comercio.dtos.UploadDTO;
+import com.residencia.comercio.exceptions.NoSuchElementFoundException;
+import com.residencia.comercio.exceptions.UploadException;
+
+class ImagemUploadServiceTests {
+
+	private static final byte[] CONTEUDO = "0123456789".getBytes(StandardCharsets.US_ASCII);
+	private static final int TAMANHO_BLOCO = 4;
+
+	@TempDir
+	Path diretorio;
+
+	private ImagemService imagemService;
+	private ImagemUploadService imagemUploadService;
+
+	@BeforeEach
+	void iniciar() {
+		imagemService = new ImagemService();
+		ReflectionTestUtils.setField(imagemService, "path", diretorio);
+
+		imagemUploadService = new ImagemUploadService();
+		imagemUploadService.imagemService = imagemService;
+		ReflectionTestUtils.setField(imagemUploadService, "path", diretorio);
+		ReflectionTestUtils.setField(imagemUploadService, "tamanhoMaximo", DataSize.ofBytes(1024));
+		ReflectionTestUtils.setField(imagemUploadService, "tamanhoBloco", DataSize.ofBytes(TAMANHO_BLOCO));
+		ReflectionTestUtils.setField(imagemUploadService, "retencaoMinutos", 60);
+	}
+
+	@Test
+	void recusaTamanhoOuHashInvalidosNoInicio() {
+		assertThrows(UploadException.class, () -> imagemUploadService.iniciarUpload(0, null));
+		assertThrows(UploadException.class, () -> imagemUploadService.iniciarUpload(1025, null));
+		assertThrows(UploadException.class, () -> imagemUploadService.iniciarUpload(10, "ABC"));
+	}
+
+	@Test
+	void recusaOffsetForaDoLimiteOuDesalinhado() throws IOException {
+		String id = iniciar(null);
+
+		assertThrows(UploadException.class, () -> enviar(id, -4, bloco(0)));
+		assertThrows(UploadException.class, () -> enviar(id, 2, bloco(0)));
+		assertThrows(UploadException.class, () -> enviar(id, 12, bloco(0)));
+		assertEquals(0, imagemUploadService.findUploadById(id).getBlocosRecebidos());
+	}
+
+	@Test
+	void recusaBlocoComChecksumDivergente() throws IOException {
+		String id = iniciar(null);
+		byte[] bloco = bloco(0);
+
+		assertThrows(UploadException.class, () -> imagemUploadService.receberBloco(id, 0, crc32c(bloco(1)),
+				new ByteArrayInputStream(bloco)));
+		assertThrows(UploadException.class, () -> imagemUploadService.receberBloco(id, 0, "xyz",
+				new ByteArrayInputStream(bloco)));
+		assertEquals(0, imagemUploadService.findUploadById(id).getBlocosRecebidos());
+	}
+
+	@Test
+	void recusaBlocoMaiorOuMenorQueOEsperado() throws IOException {
+		String id = iniciar(null);
+
+		assertThrows(UploadException.class, () -> enviar(id, 0, Arrays.copyOfRange(CONTEUDO, 0, TAMANHO_BLOCO + 1)));
+		assertThrows(UploadException.class, () -> enviar(id, 0, Arrays.copyOfRange(CONTEUDO, 0, TAMANHO_BLOCO - 1)));
+		assertThrows(UploadException.class, () -> enviar(id, 8, CONTEUDO.length - 8 + 1));
+		assertEquals(0, imagemUploadService.findUploadById(id).getBlocosRecebidos());
+	}
+
+	@Test
+	void retomaAPartirDoConfirmadoEConcluiComOHashEsperado() throws IOException {
+		String id = iniciar(sha256(CONTEUDO));
+
+		enviar(id, 0, bloco(0));
+		UploadDTO upload = enviar(id, 8, bloco(2));
+		assertEquals(4, upload.getConfirmado());
+		assertEquals(2, upload.getBlocosRecebidos());
+		assertEquals(3, upload.getTotalBlocos());
+		assertThrows(UploadException.class, () -> imagemUploadService.concluir(id));
+
+		long retomada = imagemUploadService.findUploadById(id).getConfirmado();
+		upload = enviar(id, retomada, bloco((int) (retomada / TAMANHO_BLOCO)));
+		assertEquals(CONTEUDO.length, upload.getConfirmado());
+
+		String hash = imagemUploadService.concluir(id);
+		assertEquals(sha256(CONTEUDO), hash);
+		assertArrayEquals(CONTEUDO, Files.readAllBytes(imagemService.caminho(hash)));
+		assertThrows(NoSuchElementFoundException.class, () -> imagemUploadService.findUploadById(id));
+	}
+
+	@Test
+	void reenvioDeBlocoConfirmadoEIdempotente() throws IOException {
+		String id = iniciar(null);
+
+		enviar(id, 0, bloco(0));
+		UploadDTO upload = enviar(id, 0, bloco(0));
+		assertEquals(1, upload.getBlocosRecebidos());
+		assertEquals(4, upload.getConfirmado());
+	}
+
+	@Test
+	void reenvioCorrompidoDeBlocoConfirmadoDeixaDeContarComoConfirmado() throws IOException {
+		String id = iniciar(null);
+		enviar(id, 0, bloco(0));
+		enviar(id, 4, bloco(1));
+		assertEquals(8, imagemUploadService.findUploadById(id).getConfirmado());
+
+		byte[] corrompido = "xxxx".getBytes(StandardCharsets.US_ASCII);
+		assertThrows(UploadException.class, () -> imagemUploadService.receberBloco(id, 4, crc32c(bloco(1)),
+				new ByteArrayInputStream(corrompido)));
+		assertThrows(UploadException.class, () -> enviar(id, 0, Arrays.copyOfRange(CONTEUDO, 0, TAMANHO_BLOCO + 1)));
+
+		UploadDTO upload = imagemUploadService.findUploadById(id);
+		assertEquals(0, upload.getConfirmado());
+		assertEquals(0, upload.getBlocosRecebidos());
+		enviar(id, 8, bloco(2));
+		assertThrows(UploadException.class, () -> imagemUploadService.concluir(id));
+	}
+
+	@Test
+	void recusaEscritaConcorrenteNoMesmoBloco() throws Exception {
+		String id = iniciar(null);
+		CountDownLatch lendo = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		InputStream lento = new FilterInputStream(new ByteArrayInputStream(bloco(0))) {
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				lendo.countDown();
+				try {
+					liberar.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.read(b, off, len);
+			}
+		};
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<UploadDTO> primeiro = executor
+					.submit(() -> imagemUploadService.receberBloco(id, 0, crc32c(bloco(0)), lento));
+			assertTrue(lendo.await(10, TimeUnit.SECONDS));
+
+			assertThrows(UploadException.class, () -> enviar(id, 0, bloco(0)));
+			liberar.countDown();
+			assertEquals(1, primeiro.get(10, TimeUnit.SECONDS).getBlocosRecebidos());
+		} finally {
+			liberar.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void recusaBlocoDepoisDeConcluido() throws IOException {
+		String id = iniciar(null);
+		for (int offset = 0; offset < CONTEUDO.length; offset += TAMANHO_BLOCO) {
+			enviar(id, offset, bloco(offset / TAMANHO_BLOCO));
+		}
+		imagemUploadService.concluir(id);
+
+		assertThrows(NoSuchElementFoundException.class, () -> enviar(id, 0, bloco(0)));
+	}
+
+	@Test
+	void concluirComSha256DivergenteDescartaOUpload() throws IOException {
+		String id = iniciar(sha256("outro conteúdo".getBytes(StandardCharsets.UTF_8)));
+		for (int offset = 0; offset < CONTEUDO.length; offset += TAMANHO_BLOCO) {
+			enviar(id, offset, bloco(offset / TAMANHO_BLOCO));
+		}
+
+		assertThrows(UploadException.class, () -> imagemUploadService.concluir(id));
+		assertThrows(NoSuchElementFoundException.class, () -> imagemUploadService.findUploadById(id));
+		assertFalse(Files.exists(diretorio.resolve("tmp").resolve("uploads").resolve(id + ".part")));
+		assertFalse(Files.exists(imagemService.caminho(sha256(CONTEUDO))));
+	}
+
+	private String iniciar(String hash) throws IOException {
+		return imagemUploadService.iniciarUpload(CONTEUDO.length, hash).getIdUpload();
+	}
+
+	private UploadDTO enviar(String id, long offset, byte[] bloco) throws IOException {
+		return imagemUploadService.receberBloco(id, offset, crc32c(bloco), new ByteArrayInputStream(bloco));
+	}
+
+	private UploadDTO enviar(String id, long offset, int tamanho) throws IOException {
+		return enviar(id, offset, new byte[tamanho]);
+	}
+
+	private byte[] bloco(int indice) {
+		int inicio = indice * TAMANHO_BLOCO;
+		return Arrays.copyOfRange(CONTEUDO, inicio, Math.min(CONTEUDO.length, inicio + TAMANHO_BLOCO));
+	}
+
+	private String crc32c(byte[] bytes) {
+		CRC32C crc = new CRC32C();
+		crc.update(bytes);
+		return Long.toHexString(crc.getValue());
+	}
+
+	private String sha256(byte[] bytes) {
+		try {
+			StringBuilder hexadecimal = new StringBuilder();
+			for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+				hexadecimal.append(String.format("%02x", b));
+			}
+			return hexadecimal.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
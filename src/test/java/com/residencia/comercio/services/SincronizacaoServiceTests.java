@@ -0,0 +1,119 @@
+package com.residencia.comercio.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.residencia.comercio.dtos.AlteracoesDTO;
+import com.residencia.comercio.entities.Categoria;
+import com.residencia.comercio.exceptions.NumberFormatException;
+import com.residencia.comercio.repositories.CategoriaRepository;
+import com.residencia.comercio.utils.Paginacao;
+
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto = create-drop",
+		"spring.jpa.properties.hibernate.dialect = org.hibernate.dialect.H2Dialect",
+		"sincronizacao.margem = 0s" })
+@Import({ SincronizacaoService.class, Paginacao.class })
+class SincronizacaoServiceTests {
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Autowired
+	CategoriaRepository categoriaRepository;
+
+	@Autowired
+	SincronizacaoService sincronizacaoService;
+
+	@Test
+	void cursorPercorreTodasAsAlteracoesUmaVezEmOrdem() {
+		List<Integer> esperados = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			esperados.add(inserirCategoria("Categoria " + i).getIdCategoria());
+		}
+
+		List<Integer> recebidos = new ArrayList<>();
+		AlteracoesDTO<Categoria> pagina = alteracoes(null, null);
+		int paginas = 1;
+		while (pagina.getProximo() != null) {
+			assertNull(pagina.getMarca());
+			pagina.getConteudo().forEach(categoria -> recebidos.add(categoria.getIdCategoria()));
+			pagina = alteracoes(null, pagina.getProximo());
+			paginas++;
+		}
+		pagina.getConteudo().forEach(categoria -> recebidos.add(categoria.getIdCategoria()));
+
+		assertEquals(esperados, recebidos);
+		assertEquals(3, paginas);
+		assertNotNull(pagina.getMarca());
+	}
+
+	@Test
+	void alteracaoFeitaDuranteAPaginacaoFicaParaASincronizacaoSeguinte() {
+		for (int i = 0; i < 3; i++) {
+			inserirCategoria("Categoria " + i);
+		}
+		AlteracoesDTO<Categoria> primeira = alteracoes(null, null);
+
+		Integer nova = inserirCategoria("Nova").getIdCategoria();
+		AlteracoesDTO<Categoria> ultima = alteracoes(null, primeira.getProximo());
+		assertNull(ultima.getProximo());
+		assertTrue(ultima.getConteudo().stream().noneMatch(categoria -> categoria.getIdCategoria().equals(nova)));
+
+		AlteracoesDTO<Categoria> seguinte = alteracoes(ultima.getMarca().toString(), null);
+		assertEquals(List.of(nova), ids(seguinte));
+	}
+
+	@Test
+	void exclusoesSaoDevolvidasSomenteNaJanelaDaConsulta() {
+		Integer idCategoria = inserirCategoria("Excluída").getIdCategoria();
+		Instant marca = alteracoes(null, null).getMarca();
+
+		sincronizacaoService.registrarExclusao(SincronizacaoService.CATEGORIA, idCategoria);
+		sincronizacaoService.registrarExclusao(SincronizacaoService.PRODUTO, 99);
+		entityManager.flush();
+
+		AlteracoesDTO<Categoria> depois = alteracoes(marca.toString(), null);
+		assertEquals(List.of(idCategoria), depois.getRemovidos());
+
+		AlteracoesDTO<Categoria> seguinte = alteracoes(depois.getMarca().toString(), null);
+		assertTrue(seguinte.getRemovidos().isEmpty());
+	}
+
+	@Test
+	void cursorOuMarcaInvalidosSaoRecusados() {
+		assertThrows(NumberFormatException.class, () -> alteracoes(null, "invalido"));
+		assertThrows(NumberFormatException.class, () -> alteracoes("ontem", null));
+	}
+
+	private AlteracoesDTO<Categoria> alteracoes(String since, String cursor) {
+		return sincronizacaoService.alteracoes(SincronizacaoService.CATEGORIA, since, cursor, 2,
+				categoriaRepository::findAlteracoes, Categoria::getAtualizadoEm, Categoria::getIdCategoria);
+	}
+
+	private Categoria inserirCategoria(String nome) {
+		Categoria categoria = new Categoria();
+		categoria.setNomeCategoria(nome);
+		categoria = entityManager.persistAndFlush(categoria);
+		return categoria;
+	}
+
+	private List<Integer> ids(AlteracoesDTO<Categoria> pagina) {
+		List<Integer> ids = new ArrayList<>();
+		pagina.getConteudo().forEach(categoria -> ids.add(categoria.getIdCategoria()));
+		return ids;
+	}
+}
@@ -0,0 +1,74 @@
+package com.residencia.comercio.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CnpjCodecTests {
+
+	@Test
+	void aceitaDigitosVerificadoresValidos() {
+		assertEquals(11222333000181L, CnpjCodec.parse("11222333000181"));
+		assertEquals(45997418000153L, CnpjCodec.parse("45997418000153"));
+		assertEquals(19100000000000L, CnpjCodec.parse("19100000000000"));
+	}
+
+	@Test
+	void recusaDigitosVerificadoresInvalidos() {
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11222333000182"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11222333000191"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11.222.333/0001-80"));
+	}
+
+	@Test
+	void aceitaCnpjComMascara() {
+		assertEquals(11222333000181L, CnpjCodec.parse("11.222.333/0001-81"));
+		assertTrue(CnpjCodec.isValidFormatted("11.222.333/0001-81"));
+		assertFalse(CnpjCodec.isValidFormatted("11222333000181"));
+		assertTrue(CnpjCodec.isValid("11222333000181"));
+	}
+
+	@Test
+	void recusaMascaraMalFormada() {
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11-222.333/0001.81"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11.222.333.0001-81"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11.222.333/0001-8a"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("1122233300018a"));
+	}
+
+	@Test
+	void recusaTamanhoErrado() {
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse(""));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("1122233300018"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("112223330001810"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11.222.333/0001-8"));
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("11.222.333/0001-811"));
+	}
+
+	@Test
+	void recusaNulo() {
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse(null));
+		assertFalse(CnpjCodec.isValid(null));
+		assertFalse(CnpjCodec.isValidFormatted(null));
+	}
+
+	@Test
+	void recusaDigitosRepetidos() {
+		for (char c = '0'; c <= '9'; c++) {
+			String repetido = String.valueOf(c).repeat(14);
+			assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse(repetido), repetido);
+		}
+		assertEquals(CnpjCodec.INVALIDO, CnpjCodec.parse("00.000.000/0000-00"));
+	}
+
+	@Test
+	void preservaZerosAEsquerdaAoFormatar() {
+		long cnpj = CnpjCodec.parse("04.252.011/0001-10");
+		assertEquals(4252011000110L, cnpj);
+		assertEquals("04252011000110", CnpjCodec.digits(cnpj));
+		assertEquals("04.252.011/0001-10", CnpjCodec.format(cnpj));
+		assertEquals("00.000.001/0001-36", CnpjCodec.format(CnpjCodec.parse("00000001000136")));
+	}
+}
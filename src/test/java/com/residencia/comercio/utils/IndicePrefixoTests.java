@@ -0,0 +1,224 @@
+package com.residencia.comercio.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.residencia.comercio.dtos.SugestaoDTO;
+
+class IndicePrefixoTests {
+
+	private final IndicePrefixo indice = new IndicePrefixo();
+
+	private final Map<Integer, String> nomes = new HashMap<>();
+
+	private int proximoId = 1;
+
+	@Test
+	void sugereSomenteNomesComPalavraIniciadaPeloPrefixo() {
+		atualizar(Map.of(1, "Caneta Azul", 2, "Caderno", 3, "Lápis Azul", 4, "Borracha"), List.of());
+
+		assertEquals(List.of(2, 1), sugerir("ca", 10));
+		assertEquals(List.of(1), sugerir("can", 10));
+		assertEquals(List.of(2, 1), sugerir("c", 10));
+		assertEquals(List.of(3, 1), sugerir("azu", 10));
+		assertEquals(List.of(3), sugerir("lapis a", 10));
+		assertEquals(List.of(1), sugerir("  CAN", 10));
+		assertEquals(List.of(), sugerir("zul", 10));
+		assertEquals(List.of(), sugerir("canetas", 10));
+		assertEquals(List.of(), sugerir("", 10));
+		assertEquals(List.of(), sugerir("ca", 0));
+		assertEquals(4, indice.tamanho());
+	}
+
+	@Test
+	void ordenaPorPosicaoDaPalavraTamanhoDoNomeEId() {
+		atualizar(Map.of(10, "Papel sulfite", 11, "Sulfite A4", 12, "Sulfite", 13, "Sulfite",
+				14, "Caixa de papel sulfite"), List.of());
+
+		assertEquals(List.of(12, 13, 11, 10, 14), sugerir("sulf", 10));
+		assertEquals(List.of(12, 13), sugerir("sulf", 2));
+		assertEquals(List.of(10, 14), sugerir("papel", 10));
+	}
+
+	@Test
+	void sugereCadaIdUmaVezMesmoComVariasPalavrasIniciadasPeloPrefixo() {
+		atualizar(Map.of(20, "Cola cola cola", 21, "Colar"), List.of());
+
+		assertEquals(List.of(21, 20), sugerir("col", 2));
+		assertEquals(List.of(20), sugerir("cola ", 10));
+
+		atualizar(Map.of(22, "Fita crepe"), List.of());
+		assertEquals(List.of(21, 20), sugerir("col", 2));
+		assertEquals(List.of(21, 20), sugerir("col", 10));
+	}
+
+	@Test
+	void renomeiaERemovePeloDeltaEscondendoAsEntradasSubstituidas() {
+		Map<Integer, String> iniciais = new HashMap<>();
+		for (int id = 100; id < 5100; id++) {
+			iniciais.put(id, "Item " + id);
+		}
+		iniciais.put(1, "Tesoura");
+		iniciais.put(2, "Régua");
+		atualizar(iniciais, List.of());
+		assertEquals(0, entradas("delta"));
+
+		Map<Integer, String> renomeado = new HashMap<>();
+		renomeado.put(1, "Grampeador");
+		atualizar(renomeado, List.of(2));
+		assertTrue(entradas("delta") > 0);
+
+		assertEquals(List.of(), sugerir("tes", 10));
+		assertEquals(List.of(1), sugerir("gram", 10));
+		assertEquals(List.of(), sugerir("regua", 10));
+		assertEquals(5001, indice.tamanho());
+
+		atualizar(Map.of(2, "Régua 30 cm"), List.of());
+		assertEquals(List.of(2), sugerir("regua", 10));
+		assertEquals(5002, indice.tamanho());
+		verificarContraBuscaExaustiva(new Random(2), 200);
+	}
+
+	@Test
+	void mesclaODeltaNoPrincipalAoPassarDoLimite() {
+		Random aleatorio = new Random(17);
+		for (int lote = 0; lote < 5; lote++) {
+			adicionarLote(aleatorio);
+		}
+		assertEquals(0, entradas("principal"));
+		assertTrue(entradas("delta") > 0);
+		verificarContraBuscaExaustiva(aleatorio, 200);
+
+		while (entradas("principal") == 0) {
+			adicionarLote(aleatorio);
+		}
+		assertEquals(0, entradas("delta"));
+		assertEquals(totalDePalavras(), entradas("principal"));
+		verificarContraBuscaExaustiva(aleatorio, 200);
+
+		List<Integer> ids = new ArrayList<>(nomes.keySet());
+		Collections.shuffle(ids, aleatorio);
+		Map<Integer, String> renomeados = new HashMap<>();
+		for (Integer id : ids.subList(0, 50)) {
+			renomeados.put(id, nomeAleatorio(aleatorio));
+		}
+		atualizar(renomeados, ids.subList(50, 100));
+		assertTrue(entradas("delta") > 0);
+		assertEquals(nomes.size(), indice.tamanho());
+		verificarContraBuscaExaustiva(aleatorio, 200);
+
+		while (entradas("delta") > 0) {
+			adicionarLote(aleatorio);
+		}
+		assertEquals(totalDePalavras(), entradas("principal"));
+		assertEquals(nomes.size(), indice.tamanho());
+		verificarContraBuscaExaustiva(aleatorio, 200);
+	}
+
+	private void adicionarLote(Random aleatorio) {
+		Map<Integer, String> alterados = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			alterados.put(proximoId++, nomeAleatorio(aleatorio));
+		}
+		atualizar(alterados, List.of());
+	}
+
+	private void atualizar(Map<Integer, String> alterados, Collection<Integer> removidos) {
+		indice.atualizar(alterados, removidos);
+		removidos.forEach(nomes::remove);
+		nomes.putAll(alterados);
+	}
+
+	private List<Integer> sugerir(String prefixo, int limite) {
+		List<Integer> ids = new ArrayList<>();
+		for (SugestaoDTO sugestao : indice.sugerir(prefixo, limite)) {
+			ids.add(sugestao.getId());
+			assertEquals(nomes.get(sugestao.getId()), sugestao.getNome());
+		}
+		return ids;
+	}
+
+	private void verificarContraBuscaExaustiva(Random aleatorio, int consultas) {
+		List<String> existentes = new ArrayList<>(nomes.values());
+		for (int i = 0; i < consultas; i++) {
+			List<String> palavras = palavras(existentes.get(aleatorio.nextInt(existentes.size())));
+			String palavra = palavras.get(aleatorio.nextInt(palavras.size()));
+			String prefixo = palavra.substring(0, 1 + aleatorio.nextInt(palavra.length()));
+			int limite = 1 + aleatorio.nextInt(12);
+			assertEquals(buscaExaustiva(prefixo, limite), sugerir(prefixo, limite), prefixo);
+		}
+	}
+
+	private List<Integer> buscaExaustiva(String prefixo, int limite) {
+		String chave = Texto.normalizar(prefixo);
+		Map<Integer, Integer> posicoes = new HashMap<>();
+		nomes.forEach((id, nome) -> {
+			List<String> sufixos = sufixos(nome);
+			for (int posicao = 0; posicao < sufixos.size(); posicao++) {
+				if (sufixos.get(posicao).startsWith(chave)) {
+					posicoes.put(id, posicao);
+					break;
+				}
+			}
+		});
+		List<Integer> ids = new ArrayList<>(posicoes.keySet());
+		ids.sort(Comparator.<Integer>comparingInt(posicoes::get)
+				.thenComparingInt(id -> nomes.get(id).length())
+				.thenComparingInt(id -> id));
+		return ids.subList(0, Math.min(limite, ids.size()));
+	}
+
+	private List<String> sufixos(String nome) {
+		String normalizado = Texto.normalizar(nome);
+		List<String> sufixos = new ArrayList<>();
+		for (int i = 0; i < normalizado.length(); i++) {
+			if (Character.isLetterOrDigit(normalizado.charAt(i))
+					&& (i == 0 || !Character.isLetterOrDigit(normalizado.charAt(i - 1)))) {
+				sufixos.add(normalizado.substring(i));
+			}
+		}
+		return sufixos;
+	}
+
+	private int totalDePalavras() {
+		return nomes.values().stream().mapToInt(nome -> sufixos(nome).size()).sum();
+	}
+
+	private List<String> palavras(String nome) {
+		List<String> palavras = new ArrayList<>();
+		for (String sufixo : sufixos(nome)) {
+			palavras.add(sufixo.split("[^\\p{L}\\p{N}]", 2)[0]);
+		}
+		return palavras;
+	}
+
+	private String nomeAleatorio(Random aleatorio) {
+		String[] palavras = { "Caneta", "Caderno", "Café", "Cabo", "Papel", "Pasta", "Pão", "Lápis", "Régua", "Cola",
+				"Azul", "Preto", "A4", "Grande" };
+		int quantidade = 1 + aleatorio.nextInt(3);
+		List<String> nome = new ArrayList<>();
+		for (int i = 0; i < quantidade; i++) {
+			nome.add(palavras[aleatorio.nextInt(palavras.length)]);
+		}
+		Collections.shuffle(nome, aleatorio);
+		return String.join(" ", nome) + " " + aleatorio.nextInt(1000);
+	}
+
+	private int entradas(String parte) {
+		Object estado = ReflectionTestUtils.getField(indice, "estado");
+		Object instantaneo = ReflectionTestUtils.getField(estado, parte);
+		return ((int[]) ReflectionTestUtils.getField(instantaneo, "ids")).length;
+	}
+}
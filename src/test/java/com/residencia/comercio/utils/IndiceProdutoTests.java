@@ -0,0 +1,100 @@
+package com.residencia.comercio.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndiceProdutoTests {
+
+	private final IndiceProduto indice = new IndiceProduto();
+
+	@Test
+	void exigeTodosOsTermosDaConsulta() {
+		indice.indexar(1, "Caneta azul", "CAN-01", 1, 1);
+		indice.indexar(2, "Caneta preta", "CAN-02", 1, 1);
+		indice.indexar(3, "Lápis azul", "LAP-01", 1, 1);
+
+		assertEquals(List.of(1), buscar("caneta azul"));
+		assertEquals(List.of(1), buscar("azul caneta"));
+		assertEquals(List.of(1, 2), buscar("caneta"));
+		assertEquals(List.of(), buscar("caneta verde"));
+	}
+
+	@Test
+	void ignoraAcentosEStopwordsNaConsulta() {
+		indice.indexar(1, "Lápis de cor", "LAP-01", 1, 1);
+
+		assertEquals(List.of(1), buscar("LAPIS"));
+		assertEquals(List.of(1), buscar("lápis de cor"));
+		assertEquals(List.of(), buscar("de"));
+		assertEquals(List.of(), buscar(""));
+	}
+
+	@Test
+	void skuPesaMaisQueONome() {
+		indice.indexar(10, "Kit A12 de canetas", "KIT-999", 1, 1);
+		indice.indexar(11, "Caderno", "A12", 1, 1);
+
+		assertEquals(List.of(11, 10), buscar("a12"));
+		assertEquals(List.of(10), buscar("kit999"));
+	}
+
+	@Test
+	void termoExatoPesaMaisQuePrefixo() {
+		indice.indexar(20, "Cola branca grande", "COL-01", 1, 1);
+		indice.indexar(21, "Colar", "COL-02", 1, 1);
+
+		assertEquals(List.of(20, 21), buscar("cola"));
+		assertEquals(List.of(21), buscar("colar"));
+	}
+
+	@Test
+	void empateFicaComONomeMaisCurtoEDepoisComOId() {
+		indice.indexar(32, "Borracha branca", "BOR-01", 1, 1);
+		indice.indexar(31, "Borracha", "BOR-02", 1, 1);
+		indice.indexar(30, "Borracha", "BOR-03", 1, 1);
+
+		assertEquals(List.of(30, 31, 32), buscar("borracha"));
+		assertEquals(List.of(30), indice.buscar("borracha", null, null, 1));
+	}
+
+	@Test
+	void filtraPorCategoriaEFornecedor() {
+		indice.indexar(1, "Caneta azul", "CAN-01", 1, 10);
+		indice.indexar(2, "Caneta preta", "CAN-02", 2, 10);
+		indice.indexar(3, "Caneta verde", "CAN-03", 2, 20);
+
+		assertEquals(List.of(1), indice.buscar("caneta", 1, null, 10));
+		assertEquals(List.of(2, 3), indice.buscar("caneta", 2, null, 10));
+		assertEquals(List.of(1, 2), indice.buscar("caneta", null, 10, 10));
+		assertEquals(List.of(3), indice.buscar("caneta", 2, 20, 10));
+		assertEquals(List.of(), indice.buscar("caneta", 1, 20, 10));
+	}
+
+	@Test
+	void removerEReindexarDescartamOsTermosAnteriores() {
+		indice.indexar(1, "Caneta azul", "CAN-01", 1, 1);
+		indice.indexar(2, "Caneta preta", "CAN-02", 1, 1);
+
+		indice.remover(1);
+		assertEquals(List.of(), buscar("azul"));
+		assertEquals(List.of(2), buscar("caneta"));
+		assertEquals(1, indice.tamanho());
+
+		indice.indexar(2, "Caneta vermelha", "CAN-02", 1, 1);
+		assertEquals(List.of(), buscar("preta"));
+		assertEquals(List.of(2), buscar("vermelha"));
+		assertEquals(1, indice.tamanho());
+
+		indice.remover(2);
+		indice.remover(2);
+		assertEquals(List.of(), buscar("caneta"));
+		assertEquals(0, indice.tamanho());
+	}
+
+	private List<Integer> buscar(String consulta) {
+		return indice.buscar(consulta, null, null, 10);
+	}
+}
@@ -0,0 +1,41 @@
+package com.residencia.comercio.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TextoTests {
+
+	@Test
+	void removeAcentosEMaiusculas() {
+		assertEquals("acao cafe acucar", Texto.normalizar("Ação CAFÉ açúcar"));
+		assertEquals("", Texto.normalizar(null));
+	}
+
+	@Test
+	void tokensIgnoramAcentosPontuacaoEStopwords() {
+		assertEquals(List.of("cafe", "leite", "fazenda"), Texto.tokens("Café com Leite da Fazenda"));
+		assertEquals(List.of("acucar", "refinado", "1kg"), Texto.tokens("  AÇÚCAR refinado, 1kg!"));
+		assertEquals(List.of("caneta", "azul"), Texto.tokens("Caneta-azul"));
+	}
+
+	@Test
+	void tokensNaoSeRepetem() {
+		assertEquals(List.of("papel", "a4"), Texto.tokens("papel Papel PAPEL a4"));
+	}
+
+	@Test
+	void textoVazioOuSoDeStopwordsNaoGeraTokens() {
+		assertEquals(List.of(), Texto.tokens(null));
+		assertEquals(List.of(), Texto.tokens(""));
+		assertEquals(List.of(), Texto.tokens("de da do, e o"));
+	}
+
+	@Test
+	void compactarRemoveSeparadores() {
+		assertEquals("abc123x", Texto.compactar("ABC-123 x"));
+		assertEquals("sku001", Texto.compactar(" SKU/001 "));
+	}
+}